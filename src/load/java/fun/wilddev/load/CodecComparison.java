@@ -0,0 +1,123 @@
+package fun.wilddev.load;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import fun.wilddev.spring.web.controllers.responses.errors.*;
+import fun.wilddev.spring.web.pages.PageObject;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compares payload sizes and encoding/decoding costs of JSON, CBOR and Smile
+ * for {@link PageObject} and {@link ErrorResponse} payloads. The payloads are decoded into their types,
+ * the same databinding path WebFlux and the clients take.
+ * <p>
+ * The timings come from plain loops after a single warmup pass, so they are rough: use them to compare
+ * the formats with each other, not as absolute figures.
+ * <p>
+ * Run with {@code mvn -P load test-compile exec:java -Dload.main.class=fun.wilddev.load.CodecComparison},
+ * the iterations count is set by the {@code load.iterations} system property, 20000 by default.
+ */
+public class CodecComparison {
+
+    /**
+     * Private constructor
+     */
+    private CodecComparison() {
+
+    }
+
+    /**
+     * Sample page item
+     *
+     * @param id - item reference
+     * @param title - item title
+     * @param views - views count
+     * @param tags - item tags
+     */
+    record Item(String id, String title, long views, List<String> tags) {
+
+    }
+
+    /**
+     * Measured payload
+     *
+     * @param payload - the payload
+     * @param type - the payload type to decode into
+     */
+    private record Sample(Object payload, TypeReference<?> type) {
+
+    }
+
+    /**
+     * Measures a single payload against a single format
+     *
+     * @param format - format name
+     * @param mapper - format object mapper
+     * @param sample - measured payload
+     * @param iterations - iterations count
+     * @throws IOException - once the payload could not be encoded or decoded
+     */
+    private static void measure(String format, ObjectMapper mapper, Sample sample, int iterations) throws IOException {
+
+        Object payload = sample.payload();
+
+        byte[] encoded = mapper.writeValueAsBytes(payload);
+        long sink = 0;
+
+        for (int i = 0; i < iterations; i++)
+            sink += mapper.writeValueAsBytes(payload).length + (mapper.readValue(encoded, sample.type()) != null ? 1 : 0);
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < iterations; i++)
+            sink += mapper.writeValueAsBytes(payload).length;
+
+        long encodeNanos = (System.nanoTime() - start) / iterations;
+        start = System.nanoTime();
+
+        for (int i = 0; i < iterations; i++)
+            sink += mapper.readValue(encoded, sample.type()) != null ? 1 : 0;
+
+        long decodeNanos = (System.nanoTime() - start) / iterations;
+
+        System.out.printf(Locale.ROOT, "%-14s %-6s size=%7d B encode=%8d ns/op decode=%8d ns/op (%d)%n",
+                payload.getClass().getSimpleName(), format, encoded.length, encodeNanos, decodeNanos, sink % 10);
+    }
+
+    /**
+     * Comparison entry point
+     *
+     * @param args - not used, see the system properties
+     * @throws IOException - once a payload could not be encoded or decoded
+     */
+    public static void main(String[] args) throws IOException {
+
+        int iterations = Integer.getInteger("load.iterations", 20_000);
+
+        List<Item> items = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++)
+            items.add(new Item("story-" + i, "Story title number " + i, i * 1_000L, List.of("news", "tag-" + i % 10)));
+
+        List<Sample> samples = List.of(
+                new Sample(new PageObject<>(items, 500, 50_000), new TypeReference<PageObject<Item>>() {}),
+                new Sample(new ErrorResponse("Request is invalid", List.of(
+                        new FieldErrorResponse("storyId", "Story not found"),
+                        new FieldErrorResponse("imageId", "Image not found"))), new TypeReference<ErrorResponse>() {}));
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+
+        mappers.put("json", new ObjectMapper());
+        mappers.put("cbor", new ObjectMapper(new CBORFactory()));
+        mappers.put("smile", new ObjectMapper(new SmileFactory()));
+
+        for (Sample sample : samples)
+            for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet())
+                measure(entry.getKey(), entry.getValue(), sample, iterations);
+    }
+}
@@ -0,0 +1,185 @@
+package fun.wilddev.load;
+
+import org.HdrHistogram.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.*;
+
+/**
+ * End-to-end throughput and latency harness. Boots the {@link SampleApp} on the embedded
+ * Reactor Netty server and drives it with a local Reactor Netty client at a fixed request rate.
+ * The requests are never dropped: once {@code load.connections} requests are in flight, the next ones
+ * are queued. The latencies are measured from the intended send time, including the time spent
+ * in the queue, so the coordinated omission is accounted for.
+ * <p>
+ * Run with {@code mvn -P load test-compile exec:java}, tuned by the system properties:
+ * <ul>
+ *     <li>{@code load.scenarios} - comma separated {@link Scenario} names, all by default</li>
+ *     <li>{@code load.rate} - requests per second, 2000 by default</li>
+ *     <li>{@code load.duration} - measured seconds per scenario, 30 by default</li>
+ *     <li>{@code load.warmup} - warmup seconds per scenario, 10 by default</li>
+ *     <li>{@code load.connections} - max client connections, 512 by default</li>
+ *     <li>{@code load.output} - directory of the {@code .hgrm} reports, {@code target/load} by default</li>
+ *     <li>{@code load.client.threads} - client event loop threads, half of the available processors by default</li>
+ * </ul>
+ * The client runs on dedicated event loops, so the load generation doesn't compete with the server
+ * on the shared {@code reactor-http-nio} ones. Keep the client threads well below the processors count,
+ * so the server loops (sized by {@code reactor.netty.ioWorkerCount}) get cores of their own. For the stable
+ * figures pin the JVM to a fixed set of cores, e.g. with {@code taskset -c 0-7 mvn ...}.
+ */
+public class LoadHarness {
+
+    /**
+     * Highest trackable latency
+     */
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * Private constructor
+     */
+    private LoadHarness() {
+
+    }
+
+    /**
+     * Single run outcome
+     *
+     * @param histogram - recorded latencies
+     * @param unexpected - count of unexpected statuses or failures
+     * @param elapsedNanos - run duration
+     */
+    private record Result(Histogram histogram, long unexpected, long elapsedNanos) {
+
+    }
+
+    /**
+     * Drives the scenario at the fixed rate
+     *
+     * @param client - http client
+     * @param scenario - load scenario
+     * @param rate - requests per second
+     * @param seconds - run duration
+     * @param maxInFlight - max requests in flight
+     * @return run outcome
+     */
+    private static Result run(HttpClient client, Scenario scenario, int rate, int seconds, int maxInFlight) {
+
+        Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+
+        AtomicLong unexpected = new AtomicLong();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+
+        Flux.interval(Duration.ofNanos(intervalNanos))
+                .take((long) rate * seconds)
+                .onBackpressureBuffer()
+                .flatMap(tick -> {
+
+                    long intended = start + (tick + 1) * intervalNanos;
+
+                    return scenario.call(client)
+                            .doOnNext(status -> {
+
+                                if (status != scenario.expectedStatus)
+                                    unexpected.incrementAndGet();
+                            })
+                            .doOnError(ex -> unexpected.incrementAndGet())
+                            .onErrorComplete()
+                            .doFinally(signal -> histogram.recordValue(
+                                    Math.min(System.nanoTime() - intended, MAX_LATENCY_NANOS)));
+                }, maxInFlight)
+                .blockLast();
+
+        return new Result(histogram, unexpected.get(), System.nanoTime() - start);
+    }
+
+    /**
+     * Prints the run summary and stores the full percentile distribution
+     *
+     * @param scenario - load scenario
+     * @param result - run outcome
+     * @param output - reports directory
+     * @throws IOException - once the report could not be written
+     */
+    private static void report(Scenario scenario, Result result, Path output) throws IOException {
+
+        Histogram histogram = result.histogram();
+        double ms = 1_000_000d;
+
+        System.out.printf(Locale.ROOT, "%-10s count=%d rps=%.1f unexpected=%d " +
+                        "p50=%.3fms p90=%.3fms p99=%.3fms p99.9=%.3fms p99.99=%.3fms max=%.3fms%n",
+                scenario, histogram.getTotalCount(),
+                histogram.getTotalCount() / (result.elapsedNanos() / 1e9d),
+                result.unexpected(),
+                histogram.getValueAtPercentile(50) / ms, histogram.getValueAtPercentile(90) / ms,
+                histogram.getValueAtPercentile(99) / ms, histogram.getValueAtPercentile(99.9) / ms,
+                histogram.getValueAtPercentile(99.99) / ms, histogram.getMaxValue() / ms);
+
+        Files.createDirectories(output);
+
+        try (PrintStream out = new PrintStream(Files.newOutputStream(output.resolve(
+                scenario.name().toLowerCase(Locale.ROOT) + ".hgrm")))) {
+            histogram.outputPercentileDistribution(out, ms);
+        }
+    }
+
+    /**
+     * Harness entry point
+     *
+     * @param args - not used, see the system properties
+     * @throws IOException - once a report could not be written
+     */
+    public static void main(String[] args) throws IOException {
+
+        int rate = Integer.getInteger("load.rate", 2000);
+        int duration = Integer.getInteger("load.duration", 30);
+        int warmup = Integer.getInteger("load.warmup", 10);
+        int connections = Integer.getInteger("load.connections", 512);
+
+        Path output = Paths.get(System.getProperty("load.output", "target/load"));
+
+        int clientThreads = Integer.getInteger("load.client.threads",
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+        List<Scenario> scenarios = Arrays.stream(System.getProperty("load.scenarios",
+                        "success,rejection,paging").split(","))
+                .map(name -> Scenario.valueOf(name.trim().toUpperCase(Locale.ROOT))).toList();
+
+        try (ReactiveWebServerApplicationContext context = (ReactiveWebServerApplicationContext)
+                new SpringApplicationBuilder(SampleApp.class)
+                        .properties("server.port=0", "spring.main.banner-mode=off",
+                                "logging.level.root=warn")
+                        .run(args)) {
+
+            ConnectionProvider provider = ConnectionProvider.builder("load")
+                    .maxConnections(connections).pendingAcquireMaxCount(-1).build();
+
+            LoopResources loops = LoopResources.create("load-client", clientThreads, true);
+
+            HttpClient client = HttpClient.create(provider).runOn(loops)
+                    .baseUrl("http://127.0.0.1:" + context.getWebServer().getPort());
+
+            try {
+                for (Scenario scenario : scenarios) {
+
+                    run(client, scenario, rate, warmup, connections);
+                    report(scenario, run(client, scenario, rate, duration, connections), output);
+                }
+            } finally {
+                provider.disposeLater().block();
+                loops.disposeLater().block();
+            }
+        }
+    }
+}
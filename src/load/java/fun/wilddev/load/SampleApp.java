@@ -0,0 +1,17 @@
+package fun.wilddev.load;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Sample app served by the embedded Reactor Netty server
+ */
+@SpringBootApplication
+public class SampleApp {
+
+    /**
+     * Default constructor
+     */
+    public SampleApp() {
+
+    }
+}
@@ -0,0 +1,79 @@
+package fun.wilddev.load;
+
+import fun.wilddev.spring.web.controllers.AbstractReactiveController;
+import fun.wilddev.spring.web.exceptions.ErrorsException;
+import fun.wilddev.spring.web.pages.PageObject;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.Errors;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Sample controller covering the success, 400-rejection and paging scenarios
+ */
+@RestController
+@RequestMapping("/stories")
+public class SampleController extends AbstractReactiveController {
+
+    /**
+     * Stories store
+     */
+    private final SampleStore store;
+
+    /**
+     * Stories validator
+     */
+    private final SampleValidator validator;
+
+    /**
+     * Instantiates the class by {@code store} and {@code validator}
+     *
+     * @param store - stories store
+     * @param validator - stories validator
+     */
+    public SampleController(SampleStore store, SampleValidator validator) {
+
+        this.store = store;
+        this.validator = validator;
+    }
+
+    /**
+     * Validates and "creates" the story
+     *
+     * @param request - request payload
+     * @return http 201 CREATED or http 400 BAD_REQUEST response
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@RequestBody Mono<StoryRequest> request) {
+        return request.flatMap(req -> validator.validate(req).then(created(req)));
+    }
+
+    /**
+     * Returns the stories page
+     *
+     * @param page - zero-based page number
+     * @param size - page size
+     * @return http 200 OK response
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Object>> page(@RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "20") int size) {
+
+        return store.findPage(page, size).flatMap(content ->
+                ok(new PageObject<>(content, size, SampleStore.SIZE)));
+    }
+
+    /**
+     * Handles the validation errors
+     *
+     * @param errors - {@link Errors} object
+     * @return http 400 BAD_REQUEST response
+     */
+    @ExceptionHandler(ErrorsException.class)
+    public Mono<ResponseEntity<Object>> onBadRequest(Errors errors) {
+        return badRequest(errors);
+    }
+}
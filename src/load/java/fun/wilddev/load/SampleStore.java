@@ -0,0 +1,66 @@
+package fun.wilddev.load;
+
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+
+/**
+ * In-memory stories store, so the harness measures the starter rather than a database
+ */
+@Component
+public class SampleStore {
+
+    /**
+     * Count of the stored stories
+     */
+    public static final int SIZE = 10_000;
+
+    /**
+     * Stored stories
+     */
+    private final List<String> stories;
+
+    /**
+     * Stories index
+     */
+    private final Set<String> index;
+
+    /**
+     * Default constructor
+     */
+    public SampleStore() {
+
+        List<String> stories = new ArrayList<>(SIZE);
+
+        for (int i = 0; i < SIZE; i++)
+            stories.add("story-" + i);
+
+        this.stories = Collections.unmodifiableList(stories);
+        this.index = Set.copyOf(stories);
+    }
+
+    /**
+     * Looks the story up
+     *
+     * @param id - story reference
+     * @return the story or empty
+     */
+    public Mono<String> findById(String id) {
+        return index.contains(id) ? Mono.just(id) : Mono.empty();
+    }
+
+    /**
+     * Returns the stories page
+     *
+     * @param page - zero-based page number
+     * @param size - page size
+     * @return the page content
+     */
+    public Mono<List<String>> findPage(int page, int size) {
+
+        int from = Math.min(page * size, SIZE);
+        return Mono.just(stories.subList(from, Math.min(from + size, SIZE)));
+    }
+}
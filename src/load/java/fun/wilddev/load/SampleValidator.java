@@ -0,0 +1,45 @@
+package fun.wilddev.load;
+
+import fun.wilddev.spring.web.validators.AbstractReactiveValidator;
+import fun.wilddev.spring.web.validators.objects.ReportError;
+
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Sample validator, looks the stories up in the {@link SampleStore}
+ */
+@Component
+public class SampleValidator extends AbstractReactiveValidator {
+
+    /**
+     * Stories store
+     */
+    private final SampleStore store;
+
+    /**
+     * Instantiates the class by {@code store}
+     *
+     * @param store - stories store
+     */
+    public SampleValidator(SampleStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Validates the {@code target}
+     *
+     * @param target - target object
+     * @return the reactive descriptor
+     */
+    @Override
+    public Mono<Void> validate(@NonNull Object target) {
+        return validate(target, StoryRequest.class,
+                request -> StringUtils.hasText(request.getTitle()) ? store.findById(request.getStoryId())
+                        .switchIfEmpty(ReportError.of(request).rejectField("storyId", "story.not.found", "Story not found"))
+                        : ReportError.of(request).rejectField("title", "title.empty", "Title is empty"));
+    }
+}
@@ -0,0 +1,88 @@
+package fun.wilddev.load;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+
+/**
+ * Load scenarios. Each one issues a single request and emits the response status.
+ */
+public enum Scenario {
+
+    /**
+     * Valid payload, expects http 201 CREATED
+     */
+    SUCCESS(201) {
+
+        @Override
+        Mono<Integer> call(HttpClient client) {
+
+            int id = ThreadLocalRandom.current().nextInt(SampleStore.SIZE);
+            return post(client, "{\"storyId\":\"story-" + id + "\",\"title\":\"Title " + id + "\"}");
+        }
+    },
+
+    /**
+     * Unknown story, expects http 400 BAD_REQUEST
+     */
+    REJECTION(400) {
+
+        @Override
+        Mono<Integer> call(HttpClient client) {
+            return post(client, "{\"storyId\":\"missing-" + ThreadLocalRandom.current().nextInt() + "\",\"title\":\"Title\"}");
+        }
+    },
+
+    /**
+     * Stories page, expects http 200 OK
+     */
+    PAGING(200) {
+
+        @Override
+        Mono<Integer> call(HttpClient client) {
+
+            int page = ThreadLocalRandom.current().nextInt(SampleStore.SIZE / 20);
+            return client.get().uri("/stories?size=20&page=" + page)
+                    .responseSingle((response, body) -> body.then(Mono.just(response.status().code())));
+        }
+    };
+
+    /**
+     * Expected http status
+     */
+    final int expectedStatus;
+
+    /**
+     * Instantiates the scenario by {@code expectedStatus}
+     *
+     * @param expectedStatus - expected http status
+     */
+    Scenario(int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    /**
+     * Posts the json payload
+     *
+     * @param client - http client
+     * @param json - the payload
+     * @return response status
+     */
+    static Mono<Integer> post(HttpClient client, String json) {
+        return client.headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, "application/json"))
+                .post().uri("/stories").send(ByteBufFlux.fromString(Mono.just(json)))
+                .responseSingle((response, body) -> body.then(Mono.just(response.status().code())));
+    }
+
+    /**
+     * Issues a single request
+     *
+     * @param client - http client
+     * @return response status
+     */
+    abstract Mono<Integer> call(HttpClient client);
+}
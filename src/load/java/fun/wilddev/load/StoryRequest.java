@@ -0,0 +1,24 @@
+package fun.wilddev.load;
+
+import lombok.*;
+
+/**
+ * Sample request schema
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@ToString
+public class StoryRequest {
+
+    /**
+     * Story reference
+     */
+    private String storyId;
+
+    /**
+     * Story title
+     */
+    private String title;
+}
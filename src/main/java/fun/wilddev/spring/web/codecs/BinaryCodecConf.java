@@ -0,0 +1,122 @@
+package fun.wilddev.spring.web.codecs;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+
+import org.springframework.context.annotation.*;
+import org.springframework.http.codec.json.*;
+
+/**
+ * Binary codecs configuration. Registers CBOR ({@code application/cbor}) and Smile
+ * ({@code application/x-jackson-smile}) codecs once the Jackson data formats are present
+ * in the classpath, so the payloads (e.g. {@link fun.wilddev.spring.web.controllers.responses.errors.ErrorResponse}
+ * or {@link fun.wilddev.spring.web.pages.PageObject}) are negotiated by the {@code Accept} header.
+ * JSON is kept as the default format.
+ * <p>
+ * CBOR lacks the stream encoding, so the {@link reactor.core.publisher.Flux} payloads are buffered and sent
+ * as a single CBOR array. Declare {@code produces}/{@code consumes} explicitly on the streaming endpoints
+ * (e.g. NDJSON) to keep them streamed.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BinaryCodecConf {
+
+    /**
+     * Smile mime types
+     */
+    private static final MimeType[] SMILE_MIME_TYPES = {
+            new MimeType("application", "x-jackson-smile"),
+            new MimeType("application", "*+x-jackson-smile")
+    };
+
+    /**
+     * Default constructor
+     */
+    public BinaryCodecConf() {
+
+    }
+
+    /**
+     * Instantiates the object mapper sharing the app's Jackson settings
+     *
+     * @param builders - app's object mapper builders
+     * @param factory - target data format factory
+     * @return object mapper instance
+     */
+    private static ObjectMapper buildMapper(ObjectProvider<Jackson2ObjectMapperBuilder> builders, JsonFactory factory) {
+        return builders.getIfAvailable(Jackson2ObjectMapperBuilder::new).factory(factory).build();
+    }
+
+    /**
+     * CBOR codecs configuration
+     */
+    @ConditionalOnClass(name = "com.fasterxml.jackson.dataformat.cbor.CBORFactory")
+    @Configuration(proxyBeanMethods = false)
+    public static class CborCodecConf {
+
+        /**
+         * Default constructor
+         */
+        public CborCodecConf() {
+
+        }
+
+        /**
+         * Registers CBOR codecs
+         *
+         * @param builders - app's object mapper builders
+         * @return codec customizer
+         */
+        @Bean
+        public CodecCustomizer cborCodecCustomizer(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+
+            ObjectMapper mapper = buildMapper(builders, new CBORFactory());
+
+            return configurer -> {
+
+                configurer.customCodecs().register(new BufferingCborEncoder(mapper));
+                configurer.customCodecs().register(new BufferingCborDecoder(mapper));
+            };
+        }
+    }
+
+    /**
+     * Smile codecs configuration
+     */
+    @ConditionalOnClass(name = "com.fasterxml.jackson.dataformat.smile.SmileFactory")
+    @Configuration(proxyBeanMethods = false)
+    public static class SmileCodecConf {
+
+        /**
+         * Default constructor
+         */
+        public SmileCodecConf() {
+
+        }
+
+        /**
+         * Registers Smile codecs
+         *
+         * @param builders - app's object mapper builders
+         * @return codec customizer
+         */
+        @Bean
+        public CodecCustomizer smileCodecCustomizer(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+
+            ObjectMapper mapper = buildMapper(builders, new SmileFactory());
+
+            return configurer -> {
+
+                configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(mapper, SMILE_MIME_TYPES));
+                configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(mapper, SMILE_MIME_TYPES));
+            };
+        }
+    }
+}
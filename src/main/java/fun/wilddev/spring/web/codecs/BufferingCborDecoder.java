@@ -0,0 +1,51 @@
+package fun.wilddev.spring.web.codecs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.*;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.util.MimeType;
+
+import org.springframework.lang.*;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * CBOR decoder supporting the multi-value publishers. Since CBOR lacks the stream decoding,
+ * the payload is buffered and decoded as a single array into a {@link Flux}.
+ */
+public class BufferingCborDecoder extends Jackson2CborDecoder {
+
+    /**
+     * Instantiates the class by {@code mapper}
+     *
+     * @param mapper - CBOR object mapper
+     */
+    public BufferingCborDecoder(@NonNull ObjectMapper mapper) {
+        super(mapper, MediaType.APPLICATION_CBOR);
+    }
+
+    /**
+     * Decodes the values
+     *
+     * @param input the {@code DataBuffer} input stream to decode
+     * @param elementType the expected type of elements in the output stream
+     * @param mimeType the MIME type associated with the input stream (optional)
+     * @param hints additional information about how to do decode
+     * @return the output stream with decoded elements
+     */
+    @NonNull
+    @Override
+    @SuppressWarnings("unchecked")
+    public Flux<Object> decode(@NonNull Publisher<DataBuffer> input, @NonNull ResolvableType elementType,
+                               @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+        return decodeToMono(input, ResolvableType.forClassWithGenerics(List.class, elementType), mimeType, hints)
+                .flatMapIterable(list -> (List<Object>) list);
+    }
+}
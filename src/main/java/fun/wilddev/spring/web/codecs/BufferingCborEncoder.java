@@ -0,0 +1,57 @@
+package fun.wilddev.spring.web.codecs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.*;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+
+import org.springframework.lang.*;
+
+import reactor.core.publisher.*;
+
+/**
+ * CBOR encoder supporting the multi-value publishers. Since CBOR lacks the stream encoding,
+ * a {@link Flux} is buffered and encoded as a single array, like the JSON encoder does
+ * for the non-streaming media types.
+ */
+public class BufferingCborEncoder extends Jackson2CborEncoder {
+
+    /**
+     * Instantiates the class by {@code mapper}
+     *
+     * @param mapper - CBOR object mapper
+     */
+    public BufferingCborEncoder(@NonNull ObjectMapper mapper) {
+        super(mapper, MediaType.APPLICATION_CBOR);
+    }
+
+    /**
+     * Encodes the values
+     *
+     * @param inputStream the input stream of Objects to encode
+     * @param bufferFactory for creating output stream {@code DataBuffer}'s
+     * @param elementType the expected type of elements in the input stream
+     * @param mimeType the MIME type for the output content (optional)
+     * @param hints additional information about how to encode
+     * @return the encoded content
+     */
+    @NonNull
+    @Override
+    public Flux<DataBuffer> encode(@NonNull Publisher<?> inputStream, @NonNull DataBufferFactory bufferFactory,
+                                   @NonNull ResolvableType elementType, @Nullable MimeType mimeType,
+                                   @Nullable Map<String, Object> hints) {
+
+        if (inputStream instanceof Mono)
+            return Mono.from(inputStream).map(value ->
+                    encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+
+        return Flux.from(inputStream).collectList().map(list -> encodeValue(list, bufferFactory,
+                ResolvableType.forClassWithGenerics(List.class, elementType), mimeType, hints)).flux();
+    }
+}
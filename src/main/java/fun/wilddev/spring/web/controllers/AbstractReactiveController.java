@@ -1,9 +1,19 @@
 package fun.wilddev.spring.web.controllers;
 
+import fun.wilddev.spring.web.controllers.responses.elements.ElementResponse;
+import fun.wilddev.spring.web.exceptions.ErrorsException;
+import fun.wilddev.spring.web.timings.ServerTiming;
+import fun.wilddev.spring.web.validators.ReactiveValidator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.springframework.lang.NonNull;
 import org.springframework.util.MultiValueMap;
 import org.springframework.validation.ObjectError;
 
-import reactor.core.publisher.Mono;
+import reactor.core.publisher.*;
 
 import fun.wilddev.spring.web.controllers.responses.errors.*;
 
@@ -62,6 +72,20 @@ public abstract class AbstractReactiveController {
                 .anyMatch(err -> Objects.equals(err.getCode(), code));
     }
 
+    /**
+     * Assembles an error response payload
+     *
+     * @param errors - {@link Errors} object
+     * @return error response schema
+     */
+    protected ErrorResponse buildErrorBody(Errors errors) {
+
+        List<FieldErrorResponse> fieldErrors = errors.getFieldErrors().stream().map(e ->
+                new FieldErrorResponse(e.getField(), e.getDefaultMessage())).toList();
+
+        return new ErrorResponse(getGlobalErrorText(errors), fieldErrors);
+    }
+
     /**
      * Assembles an error response
      *
@@ -70,11 +94,121 @@ public abstract class AbstractReactiveController {
      * @return fully assembled server response
      */
     protected ResponseEntity<Object> buildErrorResponse(Errors errors, HttpStatus httpStatus) {
+        return new ResponseEntity<>(buildErrorBody(errors), httpStatus);
+    }
 
-        List<FieldErrorResponse> fieldErrors = errors.getFieldErrors().stream().map(e ->
-                new FieldErrorResponse(e.getField(), e.getDefaultMessage())).toList();
+    /**
+     * Validates a single streamed element and runs the {@code action} once it is accepted
+     *
+     * @param index - element index within the stream
+     * @param element - the element
+     * @param validator - element validator
+     * @param action - action to run on the accepted element
+     * @return element outcome
+     *
+     * @param <T> - element type
+     */
+    private <T> Mono<ElementResponse> validateElement(long index, T element, ReactiveValidator validator,
+                                                      Function<T, ? extends Publisher<?>> action) {
+
+        return validator.validate(element)
+                .then(Mono.defer(() -> Flux.from(action.apply(element)).then()))
+                .thenReturn(new ElementResponse(index, null))
+                .onErrorResume(ex -> Mono.just(new ElementResponse(index, ex instanceof ErrorsException errors ?
+                        buildErrorBody(errors) : buildElementErrorBody(ex))));
+    }
+
+    /**
+     * Assembles an error payload of the element failed by a non-validation error,
+     * e.g. a failed write. Doesn't expose the error details by default.
+     *
+     * @param ex - the error
+     * @return error response schema
+     */
+    protected ErrorResponse buildElementErrorBody(Throwable ex) {
+        return new ErrorResponse("Element processing failed", List.of());
+    }
+
+    /**
+     * Validates each element of a streamed payload (e.g. NDJSON) one at a time.
+     * Outcomes are emitted as soon as every element is validated, while the payload is still arriving.
+     * A failed element never ends the stream: the non-validation errors are reported
+     * by {@link #buildElementErrorBody(Throwable)} as the element outcomes. A payload error
+     * (e.g. a malformed line) completes the stream with the outcome of the index it's raised at.
+     *
+     * @param elements - streamed payload
+     * @param validator - element validator
+     * @return per-element outcomes in the order of the payload
+     *
+     * @param <T> - element type
+     */
+    public <T> Flux<ElementResponse> validateEach(@NonNull Flux<T> elements, @NonNull ReactiveValidator validator) {
+        return validateEach(elements, validator, element -> Mono.empty());
+    }
+
+    /**
+     * Validates each element of a streamed payload (e.g. NDJSON) one at a time
+     * and runs the {@code action} on every accepted element
+     *
+     * @param elements - streamed payload
+     * @param validator - element validator
+     * @param action - action to run on the accepted element, e.g. a write
+     * @return per-element outcomes in the order of the payload
+     *
+     * @param <T> - element type
+     */
+    public <T> Flux<ElementResponse> validateEach(@NonNull Flux<T> elements, @NonNull ReactiveValidator validator,
+                                                  @NonNull Function<T, ? extends Publisher<?>> action) {
+        return validateEach(elements, validator, action, 1);
+    }
+
+    /**
+     * Validates each element of a streamed payload (e.g. NDJSON) and runs the {@code action}
+     * on every accepted element. No more than {@code concurrency} elements are requested
+     * from the payload at once, so the memory stays bounded and the backpressure
+     * is propagated up to the request body.
+     *
+     * @param elements - streamed payload
+     * @param validator - element validator
+     * @param action - action to run on the accepted element, e.g. a write
+     * @param concurrency - max count of elements in flight
+     * @return per-element outcomes in the order of the payload
+     *
+     * @param <T> - element type
+     */
+    public <T> Flux<ElementResponse> validateEach(@NonNull Flux<T> elements, @NonNull ReactiveValidator validator,
+                                                  @NonNull Function<T, ? extends Publisher<?>> action, int concurrency) {
+
+        if (concurrency < 1)
+            throw new IllegalArgumentException("concurrency must be positive");
+
+        return Flux.defer(() -> {
+
+            AtomicLong received = new AtomicLong();
+
+            // a payload error (e.g. a malformed NDJSON line) is reported as the outcome of the next index
+            return elements.doOnNext(element -> received.incrementAndGet()).index()
+                    .flatMapSequentialDelayError(tuple ->
+                            validateElement(tuple.getT1(), tuple.getT2(), validator, action), concurrency, 1)
+                    .onErrorResume(ex -> Mono.just(new ElementResponse(received.get(), buildElementErrorBody(ex))));
+        });
+    }
+
+    /**
+     * Assembles an error response, timed once the {@code Server-Timing} mode is enabled
+     *
+     * @param errors - {@link Errors} object
+     * @param httpStatus - http status
+     * @return fully assembled server response
+     */
+    private Mono<ResponseEntity<Object>> timedErrorResponse(Errors errors, HttpStatus httpStatus) {
+        return Mono.deferContextual(ctx -> {
+
+            ServerTiming timing = ServerTiming.current(ctx);
 
-        return new ResponseEntity<>(new ErrorResponse(getGlobalErrorText(errors), fieldErrors), httpStatus);
+            return timing == null || timing.isCommitted() ? Mono.just(buildErrorResponse(errors, httpStatus)) :
+                    timing.time("errorResponse", Mono.fromSupplier(() -> buildErrorResponse(errors, httpStatus)));
+        });
     }
 
     /**
@@ -149,7 +283,7 @@ public abstract class AbstractReactiveController {
      * @return fully assembled server response
      */
     public Mono<ResponseEntity<Object>> badRequest(Errors errors) {
-        return Mono.just(buildErrorResponse(errors, HttpStatus.BAD_REQUEST));
+        return timedErrorResponse(errors, HttpStatus.BAD_REQUEST);
     }
 
     /**
@@ -178,7 +312,7 @@ public abstract class AbstractReactiveController {
      * @return fully assembled server response
      */
     public Mono<ResponseEntity<Object>> preconditionFailed(Errors errors) {
-        return Mono.just(buildErrorResponse(errors, HttpStatus.PRECONDITION_FAILED));
+        return timedErrorResponse(errors, HttpStatus.PRECONDITION_FAILED);
     }
 
     /**
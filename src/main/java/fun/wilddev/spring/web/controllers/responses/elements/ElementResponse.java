@@ -0,0 +1,47 @@
+package fun.wilddev.spring.web.controllers.responses.elements;
+
+import com.fasterxml.jackson.annotation.*;
+import fun.wilddev.spring.web.controllers.responses.errors.ErrorResponse;
+
+import lombok.*;
+
+/**
+ * Per-element outcome schema of a streamed payload
+ */
+@Setter
+@Getter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ElementResponse {
+
+    /**
+     * Instantiates the class by {@code index} and {@code error}
+     *
+     * @param index - zero-based element index within the stream
+     * @param error - element error schema, {@code null} once the element is accepted
+     */
+    public ElementResponse(long index, ErrorResponse error) {
+
+        this.index = index;
+        this.ok = error == null;
+        this.error = error;
+    }
+
+    /**
+     * Zero-based element index within the stream
+     */
+    @JsonProperty
+    private long index;
+
+    /**
+     * Whether the element is accepted
+     */
+    @JsonProperty
+    private boolean ok;
+
+    /**
+     * Element error schema
+     */
+    @JsonProperty
+    private ErrorResponse error;
+}
@@ -1,6 +1,6 @@
 package fun.wilddev.spring.web.controllers.responses.errors;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.*;
 import java.util.List;
 
 import lombok.*;
@@ -19,7 +19,9 @@ public class ErrorResponse {
      * @param globalError - global error text
      * @param fieldErrors - field errors schema array
      */
-    public ErrorResponse(String globalError, List<FieldErrorResponse> fieldErrors) {
+    @JsonCreator
+    public ErrorResponse(@JsonProperty("globalError") String globalError,
+                         @JsonProperty("fieldErrors") List<FieldErrorResponse> fieldErrors) {
 
         this.globalError = globalError;
         this.fieldErrors = fieldErrors;
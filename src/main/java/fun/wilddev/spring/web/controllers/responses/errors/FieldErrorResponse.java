@@ -1,6 +1,6 @@
 package fun.wilddev.spring.web.controllers.responses.errors;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.*;
 
 import lombok.*;
 
@@ -18,7 +18,8 @@ public class FieldErrorResponse {
      * @param field - field reference
      * @param message - error text
      */
-    public FieldErrorResponse(String field, String message) {
+    @JsonCreator
+    public FieldErrorResponse(@JsonProperty("field") String field, @JsonProperty("message") String message) {
 
         this.field = field;
         this.message = message;
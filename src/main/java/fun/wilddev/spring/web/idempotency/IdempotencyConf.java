@@ -0,0 +1,68 @@
+package fun.wilddev.spring.web.idempotency;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.*;
+
+import org.springframework.context.annotation.*;
+
+/**
+ * Idempotency keys configuration, enabled with {@code wilddev.web.idempotency.enabled=true}
+ */
+@ConditionalOnProperty(prefix = "wilddev.web.idempotency", name = "enabled", havingValue = "true")
+@Configuration(proxyBeanMethods = false)
+public class IdempotencyConf {
+
+    /**
+     * Default constructor
+     */
+    public IdempotencyConf() {
+
+    }
+
+    /**
+     * Instantiates the default in-memory store, unless a custom one is declared
+     *
+     * @param ttl - responses time to live
+     * @param maxEntries - max count of the stored responses
+     * @param maxBytes - max total size of the stored payloads in bytes
+     * @return store instance
+     */
+    @ConditionalOnMissingBean(IdempotencyStore.class)
+    @Bean
+    public IdempotencyStore inMemoryIdempotencyStore(@Value("${wilddev.web.idempotency.ttl:PT24H}") Duration ttl,
+                                                     @Value("${wilddev.web.idempotency.max-entries:10000}") int maxEntries,
+                                                     @Value("${wilddev.web.idempotency.max-bytes:67108864}") long maxBytes) {
+        return new InMemoryIdempotencyStore(ttl, maxEntries, maxBytes);
+    }
+
+    /**
+     * Instantiates the default principal based keys resolver, unless a custom one is declared
+     *
+     * @return resolver instance
+     */
+    @ConditionalOnMissingBean(IdempotencyKeyResolver.class)
+    @Bean
+    public IdempotencyKeyResolver principalIdempotencyKeyResolver() {
+        return new PrincipalIdempotencyKeyResolver();
+    }
+
+    /**
+     * Instantiates the filter
+     *
+     * @param store - responses store
+     * @param keyResolver - store keys resolver
+     * @param maxBodySize - max size of the buffered request payload in bytes
+     * @param maxResponseSize - max size of the stored response payload in bytes
+     * @param inFlightTimeout - max time the duplicates wait for the request in flight
+     * @return filter instance
+     */
+    @Bean
+    public IdempotencyFilter idempotencyFilter(IdempotencyStore store, IdempotencyKeyResolver keyResolver,
+                                               @Value("${wilddev.web.idempotency.max-body-size:262144}") int maxBodySize,
+                                               @Value("${wilddev.web.idempotency.max-response-size:1048576}") int maxResponseSize,
+                                               @Value("${wilddev.web.idempotency.in-flight-timeout:PT5S}") Duration inFlightTimeout) {
+        return new IdempotencyFilter(store, keyResolver, maxBodySize, maxResponseSize, inFlightTimeout);
+    }
+}
@@ -0,0 +1,409 @@
+package fun.wilddev.spring.web.idempotency;
+
+import java.io.ByteArrayOutputStream;
+import java.security.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.*;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StringUtils;
+
+import org.springframework.http.*;
+import org.springframework.http.server.reactive.*;
+import org.springframework.web.server.*;
+
+import reactor.core.publisher.*;
+
+/**
+ * Replays the first response of a {@code POST} request for the repeats carrying the same
+ * {@code Idempotency-Key} header, so the client retries don't re-execute the validation and write pipeline.
+ * The keys are scoped to the caller by the {@link IdempotencyKeyResolver}.
+ * <p>
+ * Only the successful (2xx) responses are stored, along with the {@link #STORED_HEADERS}. The streamed
+ * responses and the ones exceeding the {@code maxResponseSize} are stored as tombstones, replayed without
+ * the payload, so the request is never re-executed. The concurrent duplicates are coalesced: they wait
+ * for the request in flight and replay its response, or get http 409 CONFLICT once the {@code inFlightTimeout}
+ * is exceeded. A repeat carrying a different payload under the same key is rejected with
+ * http 422 UNPROCESSABLE_ENTITY, a payload exceeding the {@code maxBodySize} is rejected
+ * with http 413 PAYLOAD_TOO_LARGE. The requests the {@link IdempotencyKeyResolver} resolves no key for
+ * pass through as is.
+ */
+public class IdempotencyFilter implements WebFilter {
+
+    /**
+     * Idempotency key http header name
+     */
+    public static final String HEADER = "Idempotency-Key";
+
+    /**
+     * Http header set on the replayed responses
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Response headers stored and replayed, the per-response ones (e.g. {@code Date},
+     * {@code Set-Cookie} or {@code Server-Timing}) are left out
+     */
+    public static final Set<String> STORED_HEADERS = Set.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CONTENT_LOCATION, HttpHeaders.LOCATION, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+
+    /**
+     * Request in flight
+     *
+     * @param fingerprint - request payload fingerprint
+     * @param result - the stored response once completed, or empty once not stored
+     */
+    private record InFlight(String fingerprint, Sinks.One<StoredResponse> result) {
+
+    }
+
+    /**
+     * Responses store
+     */
+    private final IdempotencyStore store;
+
+    /**
+     * Store keys resolver
+     */
+    private final IdempotencyKeyResolver keyResolver;
+
+    /**
+     * Max size of the buffered request payload in bytes
+     */
+    private final int maxBodySize;
+
+    /**
+     * Max size of the stored response payload in bytes
+     */
+    private final int maxResponseSize;
+
+    /**
+     * Max time the duplicates wait for the request in flight
+     */
+    private final Duration inFlightTimeout;
+
+    /**
+     * Requests in flight by their keys
+     */
+    private final ConcurrentMap<String, InFlight> inFlight;
+
+    /**
+     * Instantiates the class
+     *
+     * @param store - responses store
+     * @param keyResolver - store keys resolver
+     * @param maxBodySize - max size of the buffered request payload in bytes
+     * @param maxResponseSize - max size of the stored response payload in bytes
+     * @param inFlightTimeout - max time the duplicates wait for the request in flight
+     */
+    public IdempotencyFilter(@NonNull IdempotencyStore store, @NonNull IdempotencyKeyResolver keyResolver,
+                             int maxBodySize, int maxResponseSize, @NonNull Duration inFlightTimeout) {
+
+        this.store = store;
+        this.keyResolver = keyResolver;
+        this.maxBodySize = maxBodySize;
+        this.maxResponseSize = maxResponseSize;
+        this.inFlightTimeout = inFlightTimeout;
+        this.inFlight = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Calculates the request payload fingerprint
+     *
+     * @param body - request payload
+     * @return the fingerprint
+     */
+    private static String fingerprint(byte[] body) {
+
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Reads the data buffer fully and releases it
+     *
+     * @param buffer - data buffer
+     * @return buffer content
+     */
+    private static byte[] drain(DataBuffer buffer) {
+
+        try {
+
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * Response decorator capturing the encoded payload up to the limit, while passing it through
+     */
+    private static class CapturingResponse extends ServerHttpResponseDecorator {
+
+        /**
+         * Max size of the captured payload in bytes
+         */
+        private final int maxSize;
+
+        /**
+         * Captured payload, {@code null} once the limit is exceeded or the payload is streamed
+         */
+        private ByteArrayOutputStream body;
+
+        /**
+         * Instantiates the class by {@code delegate} and {@code maxSize}
+         *
+         * @param delegate - the delegate
+         * @param maxSize - max size of the captured payload in bytes
+         */
+        CapturingResponse(ServerHttpResponse delegate, int maxSize) {
+
+            super(delegate);
+
+            this.maxSize = maxSize;
+            this.body = new ByteArrayOutputStream();
+        }
+
+        /**
+         * Copies the buffer content keeping its read position
+         *
+         * @param buffer - data buffer
+         */
+        private void capture(DataBuffer buffer) {
+
+            if (body == null)
+                return;
+
+            int count = buffer.readableByteCount();
+
+            if (body.size() + count > maxSize) {
+
+                body = null;
+                return;
+            }
+
+            int position = buffer.readPosition();
+            byte[] bytes = new byte[count];
+
+            buffer.read(bytes);
+            buffer.readPosition(position);
+
+            body.writeBytes(bytes);
+        }
+
+        /**
+         * Captures the payload while writing it to the delegate
+         *
+         * @param body the body content publisher
+         * @return the reactive descriptor
+         */
+        @NonNull
+        @Override
+        public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(this::capture));
+        }
+
+        /**
+         * Writes the streamed payload to the delegate, the streamed responses are not captured
+         *
+         * @param body the body content publisher
+         * @return the reactive descriptor
+         */
+        @NonNull
+        @Override
+        public Mono<Void> writeAndFlushWith(@NonNull Publisher<? extends Publisher<? extends DataBuffer>> body) {
+
+            this.body = null;
+            return super.writeAndFlushWith(body);
+        }
+
+        /**
+         * Converts the captured response to the stored one
+         *
+         * @param fingerprint - request payload fingerprint
+         * @return the stored response, the tombstone once the payload is not captured,
+         * or {@code null} once the response is not successful
+         */
+        StoredResponse toStored(String fingerprint) {
+
+            HttpStatusCode status = Optional.ofNullable(getStatusCode()).orElse(HttpStatus.OK);
+
+            if (!status.is2xxSuccessful())
+                return null;
+
+            HttpHeaders headers = new HttpHeaders();
+
+            getHeaders().forEach((name, values) -> {
+
+                if (STORED_HEADERS.stream().anyMatch(name::equalsIgnoreCase))
+                    headers.addAll(name, values);
+            });
+
+            if (body == null) {
+
+                headers.remove(HttpHeaders.CONTENT_TYPE);
+                return StoredResponse.tombstone(status.value(), headers, fingerprint);
+            }
+
+            return new StoredResponse(status.value(), headers, body.toByteArray(), fingerprint);
+        }
+    }
+
+    /**
+     * Rejects the request with the status
+     *
+     * @param exchange - the current server exchange
+     * @param status - http status
+     * @return the reactive descriptor
+     */
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+
+        exchange.getResponse().setStatusCode(status);
+        return exchange.getResponse().setComplete();
+    }
+
+    /**
+     * Replays the stored response
+     *
+     * @param exchange - the current server exchange
+     * @param stored - stored response
+     * @param fingerprint - request payload fingerprint
+     * @return the reactive descriptor
+     */
+    private Mono<Void> replay(ServerWebExchange exchange, StoredResponse stored, String fingerprint) {
+
+        if (!stored.getFingerprint().equals(fingerprint))
+            return reject(exchange, HttpStatus.UNPROCESSABLE_ENTITY);
+
+        ServerHttpResponse response = exchange.getResponse();
+
+        response.setStatusCode(HttpStatusCode.valueOf(stored.getStatus()));
+        response.getHeaders().putAll(stored.getHeaders());
+        response.getHeaders().set(REPLAYED_HEADER, "true");
+
+        if (!stored.isBodyStored())
+            return response.setComplete();
+
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(stored.getBody())));
+    }
+
+    /**
+     * Executes the request and stores its response, the caller owns the key
+     *
+     * @param exchange - the current server exchange
+     * @param chain - filter chain
+     * @param key - store key
+     * @param body - request payload
+     * @param fingerprint - request payload fingerprint
+     * @return the stored response or empty
+     */
+    private Mono<StoredResponse> execute(ServerWebExchange exchange, WebFilterChain chain,
+                                         String key, byte[] body, String fingerprint) {
+
+        ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+
+            @NonNull
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(body)));
+            }
+        };
+
+        CapturingResponse response = new CapturingResponse(exchange.getResponse(), maxResponseSize);
+
+        return chain.filter(exchange.mutate().request(request).response(response).build())
+                .then(Mono.defer(() -> {
+
+                    StoredResponse stored = response.toStored(fingerprint);
+                    return stored == null ? Mono.empty() : store.put(key, stored).thenReturn(stored);
+                }));
+    }
+
+    /**
+     * Handles the keyed request: coalesces it with the request in flight,
+     * replays the stored response or executes the request
+     *
+     * @param exchange - the current server exchange
+     * @param chain - filter chain
+     * @param key - store key
+     * @param body - request payload
+     * @return the reactive descriptor
+     */
+    private Mono<Void> handle(ServerWebExchange exchange, WebFilterChain chain, String key, byte[] body) {
+
+        String fingerprint = fingerprint(body);
+
+        InFlight owned = new InFlight(fingerprint, Sinks.one());
+        InFlight existing = inFlight.putIfAbsent(key, owned);
+
+        if (existing != null) {
+
+            if (!existing.fingerprint().equals(fingerprint))
+                return reject(exchange, HttpStatus.UNPROCESSABLE_ENTITY);
+
+            return existing.result().asMono().map(Optional::of).defaultIfEmpty(Optional.empty())
+                    .timeout(inFlightTimeout, Mono.defer(() -> reject(exchange, HttpStatus.CONFLICT))
+                            .then(Mono.<Optional<StoredResponse>>empty()))
+                    .flatMap(stored -> stored.isPresent() ? replay(exchange, stored.get(), fingerprint) :
+                            handle(exchange, chain, key, body));
+        }
+
+        return store.get(key).map(Optional::of).defaultIfEmpty(Optional.empty())
+                .flatMap(stored -> stored.isPresent() ?
+                        replay(exchange, stored.get(), fingerprint).thenReturn(stored.get()) :
+                        execute(exchange, chain, key, body, fingerprint))
+                .doOnNext(owned.result()::tryEmitValue)
+                .doFinally(signal -> {
+
+                    inFlight.remove(key, owned);
+                    owned.result().tryEmitEmpty();
+                })
+                .then();
+    }
+
+    /**
+     * Reads the request payload up to the {@code maxBodySize} and handles the keyed request
+     *
+     * @param exchange - the current server exchange
+     * @param chain - filter chain
+     * @param key - store key
+     * @return the reactive descriptor
+     */
+    private Mono<Void> handle(ServerWebExchange exchange, WebFilterChain chain, String key) {
+        return DataBufferUtils.join(exchange.getRequest().getBody(), maxBodySize).map(IdempotencyFilter::drain)
+                .defaultIfEmpty(new byte[0]).map(Optional::of)
+                .onErrorReturn(DataBufferLimitException.class, Optional.empty())
+                .flatMap(body -> body.isPresent() ? handle(exchange, chain, key, body.get()) :
+                        reject(exchange, HttpStatus.PAYLOAD_TOO_LARGE));
+    }
+
+    /**
+     * Applies the idempotency to the {@code POST} requests carrying the {@code Idempotency-Key} header
+     *
+     * @param exchange the current server exchange
+     * @param chain provides a way to delegate to the next filter
+     * @return the reactive descriptor
+     */
+    @NonNull
+    @Override
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+
+        ServerHttpRequest request = exchange.getRequest();
+        String idempotencyKey = request.getHeaders().getFirst(HEADER);
+
+        if (!HttpMethod.POST.equals(request.getMethod()) || !StringUtils.hasText(idempotencyKey))
+            return chain.filter(exchange);
+
+        return keyResolver.resolve(exchange, idempotencyKey).map(Optional::of).defaultIfEmpty(Optional.empty())
+                .flatMap(key -> key.isPresent() ? handle(exchange, chain, key.get()) : chain.filter(exchange));
+    }
+}
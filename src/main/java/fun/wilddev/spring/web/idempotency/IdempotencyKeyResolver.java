@@ -0,0 +1,22 @@
+package fun.wilddev.spring.web.idempotency;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves the store key of the request, scoping the {@code Idempotency-Key} to the caller,
+ * so different callers never get each other's responses replayed
+ */
+public interface IdempotencyKeyResolver {
+
+    /**
+     * Resolves the store key
+     *
+     * @param exchange - the current server exchange
+     * @param idempotencyKey - the {@code Idempotency-Key} header value
+     * @return the store key, or empty to pass the request through without the idempotency
+     */
+    Mono<String> resolve(@NonNull ServerWebExchange exchange, @NonNull String idempotencyKey);
+}
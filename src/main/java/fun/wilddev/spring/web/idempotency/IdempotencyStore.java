@@ -0,0 +1,28 @@
+package fun.wilddev.spring.web.idempotency;
+
+import org.springframework.lang.NonNull;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Pluggable storage of the responses sent for the idempotency keys
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Looks the stored response up
+     *
+     * @param key - idempotency key
+     * @return the stored response or empty
+     */
+    Mono<StoredResponse> get(@NonNull String key);
+
+    /**
+     * Stores the response
+     *
+     * @param key - idempotency key
+     * @param response - the response
+     * @return the reactive descriptor
+     */
+    Mono<Void> put(@NonNull String key, @NonNull StoredResponse response);
+}
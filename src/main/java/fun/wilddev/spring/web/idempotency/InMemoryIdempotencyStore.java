@@ -0,0 +1,151 @@
+package fun.wilddev.spring.web.idempotency;
+
+import java.time.Duration;
+import java.util.*;
+
+import org.springframework.lang.NonNull;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory {@link IdempotencyStore} implementation. The responses expire once the {@code ttl}
+ * is exceeded, the least recently used ones are evicted once either the {@code maxEntries}
+ * or the {@code maxBytes} of the stored payloads is reached. A response which payload alone
+ * exceeds the {@code maxBytes} is not stored.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    /**
+     * Stored response along with its expiration time
+     *
+     * @param response - stored response
+     * @param expiresAt - expiration time in nanoseconds
+     */
+    private record Entry(StoredResponse response, long expiresAt) {
+
+    }
+
+    /**
+     * Time to live in nanoseconds
+     */
+    private final long ttlNanos;
+
+    /**
+     * Max count of the stored responses
+     */
+    private final int maxEntries;
+
+    /**
+     * Max total size of the stored payloads in bytes
+     */
+    private final long maxBytes;
+
+    /**
+     * Access ordered entries, guarded by itself
+     */
+    private final LinkedHashMap<String, Entry> entries;
+
+    /**
+     * Total size of the stored payloads in bytes, guarded by {@link #entries}
+     */
+    private long bytes;
+
+    /**
+     * Instantiates the class by {@code ttl}, {@code maxEntries} and {@code maxBytes}
+     *
+     * @param ttl - responses time to live
+     * @param maxEntries - max count of the stored responses
+     * @param maxBytes - max total size of the stored payloads in bytes
+     */
+    public InMemoryIdempotencyStore(@NonNull Duration ttl, int maxEntries, long maxBytes) {
+
+        if (ttl.isNegative() || ttl.isZero())
+            throw new IllegalArgumentException("ttl must be positive");
+
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("maxEntries must be positive");
+
+        if (maxBytes < 1)
+            throw new IllegalArgumentException("maxBytes must be positive");
+
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Removes the entry, the caller holds the lock
+     *
+     * @param key - idempotency key
+     */
+    private void remove(String key) {
+
+        Entry entry = entries.remove(key);
+
+        if (entry != null)
+            bytes -= entry.response().getBody().length;
+    }
+
+    /**
+     * Looks the stored response up
+     *
+     * @param key - idempotency key
+     * @return the stored response or empty
+     */
+    @Override
+    public Mono<StoredResponse> get(@NonNull String key) {
+        return Mono.fromSupplier(() -> {
+
+            synchronized (entries) {
+
+                Entry entry = entries.get(key);
+
+                if (entry == null)
+                    return null;
+
+                if (entry.expiresAt() - System.nanoTime() <= 0) {
+
+                    remove(key);
+                    return null;
+                }
+
+                return entry.response();
+            }
+        });
+    }
+
+    /**
+     * Stores the response, evicting the least recently used ones once the limits are reached
+     *
+     * @param key - idempotency key
+     * @param response - the response
+     * @return the reactive descriptor
+     */
+    @Override
+    public Mono<Void> put(@NonNull String key, @NonNull StoredResponse response) {
+        return Mono.fromRunnable(() -> {
+
+            int size = response.getBody().length;
+
+            if (size > maxBytes)
+                return;
+
+            synchronized (entries) {
+
+                remove(key);
+
+                Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+
+                while (eldest.hasNext() && (entries.size() >= maxEntries || bytes + size > maxBytes)) {
+
+                    bytes -= eldest.next().getValue().response().getBody().length;
+                    eldest.remove();
+                }
+
+                entries.put(key, new Entry(response, System.nanoTime() + ttlNanos));
+                bytes += size;
+            }
+        });
+    }
+}
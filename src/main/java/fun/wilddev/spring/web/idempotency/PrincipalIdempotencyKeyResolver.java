@@ -0,0 +1,45 @@
+package fun.wilddev.spring.web.idempotency;
+
+import java.security.Principal;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Default {@link IdempotencyKeyResolver} implementation, scopes the keys by the request path
+ * and the authenticated principal name.
+ * <p>
+ * The anonymous requests are scoped by the request path only, so anonymous callers sending
+ * the same key and payload get the same response replayed. Declare a custom resolver
+ * (e.g. based on an API key or a client certificate) once the anonymous callers must be told apart.
+ */
+public class PrincipalIdempotencyKeyResolver implements IdempotencyKeyResolver {
+
+    /**
+     * Key parts separator, not allowed within http header values
+     */
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * Default constructor
+     */
+    public PrincipalIdempotencyKeyResolver() {
+
+    }
+
+    /**
+     * Resolves the store key
+     *
+     * @param exchange - the current server exchange
+     * @param idempotencyKey - the {@code Idempotency-Key} header value
+     * @return the store key
+     */
+    @Override
+    public Mono<String> resolve(@NonNull ServerWebExchange exchange, @NonNull String idempotencyKey) {
+        return exchange.getPrincipal().map(Principal::getName).defaultIfEmpty("")
+                .map(caller -> String.join(SEPARATOR,
+                        exchange.getRequest().getPath().pathWithinApplication().value(), caller, idempotencyKey));
+    }
+}
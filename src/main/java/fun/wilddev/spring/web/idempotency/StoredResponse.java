@@ -0,0 +1,86 @@
+package fun.wilddev.spring.web.idempotency;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+
+import lombok.*;
+
+/**
+ * Encoded server response stored under an idempotency key. A successful response which
+ * payload could not be stored (e.g. a streamed or too large one) is kept as a tombstone:
+ * its status and headers only, so the request is still never re-executed.
+ */
+@Getter
+@ToString(exclude = "body")
+public class StoredResponse {
+
+    /**
+     * Http status
+     */
+    private final int status;
+
+    /**
+     * Response headers
+     */
+    private final HttpHeaders headers;
+
+    /**
+     * Encoded response payload
+     */
+    private final byte[] body;
+
+    /**
+     * Request payload fingerprint
+     */
+    private final String fingerprint;
+
+    /**
+     * Whether the payload is stored, {@code false} for the tombstones
+     */
+    private final boolean bodyStored;
+
+    /**
+     * Instantiates the class by {@code status}, {@code headers}, {@code body} and {@code fingerprint}
+     *
+     * @param status - http status
+     * @param headers - response headers, copied
+     * @param body - encoded response payload
+     * @param fingerprint - request payload fingerprint
+     */
+    public StoredResponse(int status, @NonNull HttpHeaders headers, @NonNull byte[] body, @NonNull String fingerprint) {
+        this(status, headers, body, fingerprint, true);
+    }
+
+    /**
+     * Private constructor
+     *
+     * @param status - http status
+     * @param headers - response headers, copied
+     * @param body - encoded response payload
+     * @param fingerprint - request payload fingerprint
+     * @param bodyStored - whether the payload is stored
+     */
+    private StoredResponse(int status, HttpHeaders headers, byte[] body, String fingerprint, boolean bodyStored) {
+
+        HttpHeaders copy = new HttpHeaders();
+        copy.addAll(headers);
+
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(copy);
+        this.body = body;
+        this.fingerprint = fingerprint;
+        this.bodyStored = bodyStored;
+    }
+
+    /**
+     * Instantiates the tombstone of a successful response which payload could not be stored
+     *
+     * @param status - http status
+     * @param headers - response headers, copied
+     * @param fingerprint - request payload fingerprint
+     * @return the tombstone
+     */
+    public static StoredResponse tombstone(int status, @NonNull HttpHeaders headers, @NonNull String fingerprint) {
+        return new StoredResponse(status, headers, new byte[0], fingerprint, false);
+    }
+}
@@ -1,5 +1,6 @@
 package fun.wilddev.spring.web.pages;
 
+import com.fasterxml.jackson.annotation.*;
 import java.util.List;
 import java.util.function.Function;
 
@@ -28,12 +29,13 @@ public class PageObject<T> {
     private long pages;
 
     /**
-     * Private copying constructor
+     * Private copying constructor, also used for deserialization
      *
      * @param content - source content
      * @param pages - source pages
      */
-    private PageObject(@NonNull List<T> content, long pages) {
+    @JsonCreator
+    private PageObject(@NonNull @JsonProperty("content") List<T> content, @JsonProperty("pages") long pages) {
 
         this.content = content;
         this.pages = pages;
@@ -0,0 +1,180 @@
+package fun.wilddev.spring.web.timings;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.NonNull;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Per-request timings recorder, carried within the Reactor {@code Context}
+ * once the {@code Server-Timing} mode is enabled. The timings are aggregated per metric name,
+ * so the memory stays bounded by the count of distinct metrics, and are no longer recorded
+ * once the response is committed.
+ */
+public class ServerTiming {
+
+    /**
+     * Reactor {@code Context} key
+     */
+    public static final Class<ServerTiming> CONTEXT_KEY = ServerTiming.class;
+
+    /**
+     * Http header name
+     */
+    public static final String HEADER = "Server-Timing";
+
+    /**
+     * Aggregated metric
+     *
+     * @param nanos - total duration in nanoseconds
+     * @param count - count of the recorded timings
+     */
+    private record Metric(LongAdder nanos, LongAdder count) {
+
+    }
+
+    /**
+     * Request start time in nanoseconds
+     */
+    private final long startNanos;
+
+    /**
+     * Aggregated metrics by their names
+     */
+    private final Map<String, Metric> metrics;
+
+    /**
+     * Whether the response is committed
+     */
+    private volatile boolean committed;
+
+    /**
+     * Instantiates the recorder starting the request timer
+     */
+    public ServerTiming() {
+
+        this.startNanos = System.nanoTime();
+        this.metrics = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records a metric, does nothing once the response is committed
+     *
+     * @param name - metric name, must be a valid http token
+     * @param nanos - duration in nanoseconds
+     */
+    public void record(@NonNull String name, long nanos) {
+
+        if (committed)
+            return;
+
+        Metric metric = metrics.computeIfAbsent(name, key -> new Metric(new LongAdder(), new LongAdder()));
+
+        metric.nanos().add(nanos);
+        metric.count().increment();
+    }
+
+    /**
+     * Checks whether the response is committed, so nothing is recorded anymore
+     *
+     * @return {@code true}, if committed
+     */
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    /**
+     * Returns the time elapsed since the request start
+     *
+     * @return duration in nanoseconds
+     */
+    public long elapsed() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats a metric entry
+     *
+     * @param name - metric name
+     * @param nanos - duration in nanoseconds
+     * @return {@code Server-Timing} header entry
+     */
+    private static String format(String name, long nanos) {
+        return name + ";dur=" + String.format(Locale.ROOT, "%.3f", nanos / 1_000_000d);
+    }
+
+    /**
+     * Stops the recording and assembles the {@code Server-Timing} header value. The repeated metrics
+     * are summed up and described with their count, the {@code total} entry is set to the time elapsed
+     * since the request start, i.e. the total handler time once called on the response commit.
+     *
+     * @return header value
+     */
+    public String commit() {
+
+        this.committed = true;
+
+        StringBuilder builder = new StringBuilder();
+
+        metrics.forEach((name, metric) -> {
+
+            long count = metric.count().sum();
+            builder.append(format(name, metric.nanos().sum()));
+
+            if (count > 1)
+                builder.append(";desc=\"x").append(count).append('"');
+
+            builder.append(", ");
+        });
+
+        return builder.append(format("total", elapsed())).toString();
+    }
+
+    /**
+     * Times the {@code source}
+     *
+     * @param name - metric name, must be a valid http token
+     * @param source - timed pipeline
+     * @return context pipeline's descriptor
+     *
+     * @param <R> - context pipeline's type
+     */
+    public <R> Mono<R> time(@NonNull String name, @NonNull Mono<R> source) {
+        return Mono.defer(() -> {
+
+            long start = System.nanoTime();
+            return source.doFinally(signal -> record(name, System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Looks the recorder up in the {@code Context}
+     *
+     * @param ctx - Reactor {@code Context}
+     * @return the recorder, or {@code null} once the {@code Server-Timing} mode is disabled
+     */
+    public static ServerTiming current(@NonNull ContextView ctx) {
+        return ctx.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    /**
+     * Times the {@code source} within the current request, if the recorder is present in the {@code Context}.
+     * Passes the {@code source} as is otherwise.
+     *
+     * @param name - metric name, must be a valid http token
+     * @param source - timed pipeline
+     * @return context pipeline's descriptor
+     *
+     * @param <R> - context pipeline's type
+     */
+    public static <R> Mono<R> timed(@NonNull String name, @NonNull Mono<R> source) {
+        return Mono.deferContextual(ctx -> {
+
+            ServerTiming timing = current(ctx);
+            return timing == null || timing.isCommitted() ? source : timing.time(name, source);
+        });
+    }
+}
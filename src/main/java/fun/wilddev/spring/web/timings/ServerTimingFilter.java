@@ -0,0 +1,55 @@
+package fun.wilddev.spring.web.timings;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import org.springframework.web.server.*;
+
+/**
+ * Records per-request timings and emits them as the {@code Server-Timing} response header.
+ * Enabled with {@code wilddev.web.server-timing.enabled=true}, the timings are also logged
+ * on the debug level.
+ */
+@Slf4j
+@ConditionalOnProperty(prefix = "wilddev.web.server-timing", name = "enabled", havingValue = "true")
+@Component
+public class ServerTimingFilter implements WebFilter {
+
+    /**
+     * Default constructor
+     */
+    public ServerTimingFilter() {
+
+    }
+
+    /**
+     * Starts the request timer and exposes it within the Reactor {@code Context}
+     *
+     * @param exchange the current server exchange
+     * @param chain provides a way to delegate to the next filter
+     * @return context pipeline's descriptor
+     */
+    @NonNull
+    @Override
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+
+        ServerTiming timing = new ServerTiming();
+
+        exchange.getResponse().beforeCommit(() -> {
+
+            String value = timing.commit();
+            exchange.getResponse().getHeaders().add(ServerTiming.HEADER, value);
+
+            if (log.isDebugEnabled())
+                log.debug("{} {}: {}", exchange.getRequest().getMethod(), exchange.getRequest().getPath(), value);
+
+            return Mono.empty();
+        });
+
+        return chain.filter(exchange).contextWrite(ctx -> ctx.put(ServerTiming.CONTEXT_KEY, timing));
+    }
+}
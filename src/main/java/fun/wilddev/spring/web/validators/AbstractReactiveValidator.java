@@ -1,5 +1,9 @@
 package fun.wilddev.spring.web.validators;
 
+import fun.wilddev.spring.web.timings.ServerTiming;
+import fun.wilddev.spring.web.validators.objects.BlockingStage;
+
+import java.util.concurrent.Callable;
 import java.util.function.Function;
 
 import org.springframework.lang.NonNull;
@@ -24,6 +28,46 @@ public abstract class AbstractReactiveValidator implements ReactiveValidator {
         return tuple.getT2().apply(tuple.getT1());
     }
 
+    /**
+     * Runs the blocking call (JDBC, legacy clients, etc.) off the event loop.
+     * Blocking calls should never be made inline within the validation stages.
+     *
+     * @param callable - blocking call
+     * @return context pipeline's descriptor, empty once the call returns {@code null}
+     *
+     * @param <R> - context pipeline's type
+     * @see BlockingStage
+     */
+    protected final <R> Mono<R> blocking(@NonNull Callable<R> callable) {
+        return BlockingStage.defaults().call(callable);
+    }
+
+    /**
+     * Wraps the stages to record their timings
+     *
+     * @param timing - timings recorder
+     * @param stages - validation stage rules
+     * @return timed validation stage rules
+     *
+     * @param <T> - the type of {@code target}
+     */
+    @SuppressWarnings("unchecked")
+    private <T, R> Function<T, ? extends Mono<R>>[] timed(ServerTiming timing, Function<T, ? extends Mono<R>>[] stages) {
+
+        String prefix = getClass().getSimpleName().isEmpty() ? "validator" : getClass().getSimpleName();
+        Function<T, ? extends Mono<R>>[] timed = new Function[stages.length];
+
+        for (int i = 0; i < stages.length; i++) {
+
+            String name = prefix + ".stage" + i;
+            Function<T, ? extends Mono<R>> stage = stages[i];
+
+            timed[i] = target -> timing.time(name, Mono.defer(() -> stage.apply(target)));
+        }
+
+        return timed;
+    }
+
     /**
      * Validates the {@code target}
      *
@@ -38,7 +82,13 @@ public abstract class AbstractReactiveValidator implements ReactiveValidator {
     protected final <T, R> Mono<Void> validate(@NonNull Object target, @NonNull Class<T> targetClass,
                                                @NonNull Function<T, ? extends Mono<R>> ...stages) {
 
-        return Flux.zip(Mono.just(target).map(targetClass::cast), Flux.fromArray(stages))
-                .flatMapSequential(this::applyStages).then();
+        return Mono.deferContextual(ctx -> {
+
+            ServerTiming timing = ServerTiming.current(ctx);
+
+            return Flux.zip(Mono.just(target).map(targetClass::cast),
+                            Flux.fromArray(timing == null || timing.isCommitted() ? stages : timed(timing, stages)))
+                    .flatMapSequential(this::applyStages).then();
+        });
     }
 }
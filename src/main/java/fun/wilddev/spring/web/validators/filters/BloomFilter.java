@@ -0,0 +1,177 @@
+package fun.wilddev.spring.web.validators.filters;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Thread-safe Bloom filter over the keys string representations.
+ * The keys could be put concurrently with the lookups, the lookups never block.
+ */
+public class BloomFilter {
+
+    /**
+     * Bits set
+     */
+    private final AtomicLongArray words;
+
+    /**
+     * Count of the bits
+     */
+    private final long bitSize;
+
+    /**
+     * Count of the hash functions
+     */
+    private final int hashFunctions;
+
+    /**
+     * Count of the put keys
+     */
+    private final AtomicLong count;
+
+    /**
+     * Instantiates the filter sized for the {@code expectedInsertions} at the {@code fpp}
+     *
+     * @param expectedInsertions - expected count of the keys
+     * @param fpp - desired false positive probability, between 0 and 1 exclusive
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+
+        if (expectedInsertions < 1)
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+
+        if (fpp <= 0 || fpp >= 1)
+            throw new IllegalArgumentException("fpp must be between 0 and 1 exclusive");
+
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        long wordsCount = Math.min((bits + 63) / 64, Integer.MAX_VALUE);
+
+        this.words = new AtomicLongArray((int) wordsCount);
+        this.bitSize = wordsCount * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        this.count = new AtomicLong();
+    }
+
+    /**
+     * Finalization step of the MurmurHash3 64-bit hash
+     *
+     * @param hash - source hash
+     * @return mixed hash
+     */
+    private static long mix(long hash) {
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    /**
+     * Calculates the 64-bit key hash
+     *
+     * @param key - the key
+     * @return key hash
+     */
+    private static long hash(Object key) {
+
+        long hash = 0xcbf29ce484222325L;
+
+        for (byte b : String.valueOf(key).getBytes(StandardCharsets.UTF_8))
+            hash = (hash ^ b) * 0x100000001b3L;
+
+        return mix(hash);
+    }
+
+    /**
+     * Calculates the bit index of the {@code i}-th hash function
+     *
+     * @param h1 - first hash
+     * @param h2 - second hash
+     * @param i - hash function index
+     * @return bit index
+     */
+    private long index(long h1, long h2, int i) {
+        return Long.remainderUnsigned(h1 + i * h2, bitSize);
+    }
+
+    /**
+     * Puts the key
+     *
+     * @param key - the key
+     */
+    public void put(@NonNull Object key) {
+
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+
+        for (int i = 0; i < hashFunctions; i++) {
+
+            long index = index(h1, h2, i);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+
+            long current;
+
+            while (((current = words.get(word)) & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                Thread.onSpinWait();
+            }
+        }
+
+        count.incrementAndGet();
+    }
+
+    /**
+     * Checks the key
+     *
+     * @param key - the key
+     * @return {@code false}, if the key is definitely absent
+     */
+    public boolean mightContain(@NonNull Object key) {
+
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+
+        for (int i = 0; i < hashFunctions; i++) {
+
+            long index = index(h1, h2, i);
+
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0)
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the count of the put keys, including the duplicates
+     *
+     * @return keys count
+     */
+    public long count() {
+        return count.get();
+    }
+
+    /**
+     * Estimates the false positive probability for the put keys
+     *
+     * @return false positive probability
+     */
+    public double expectedFpp() {
+        return Math.pow(1 - Math.exp(-hashFunctions * (double) count() / bitSize), hashFunctions);
+    }
+
+    /**
+     * Returns the memory footprint of the bits set
+     *
+     * @return size in bytes
+     */
+    public long memoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+}
@@ -0,0 +1,278 @@
+package fun.wilddev.spring.web.validators.filters;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.springframework.lang.NonNull;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+
+import java.util.concurrent.atomic.*;
+
+import reactor.core.publisher.*;
+
+/**
+ * Existence pre-check stage backed by an in-memory {@link BloomFilter}. The definite misses
+ * are rejected immediately, the real lookup is made on the possible hits only.
+ * <p>
+ * The filter is fed from a reactive key source and rebuilt in the background: the lookups keep
+ * using the previous filter until the new one is complete. The deleted keys are dropped
+ * on the next rebuild. Until the first build completes, every key is treated as a possible hit.
+ *
+ * @param <K> - key type, hashed by its string representation
+ */
+@Slf4j
+public class ExistenceFilter<K> {
+
+    /**
+     * Key source
+     */
+    private final Supplier<? extends Publisher<K>> keySource;
+
+    /**
+     * Expected count of the keys
+     */
+    private final long expectedInsertions;
+
+    /**
+     * Desired false positive probability
+     */
+    private final double fpp;
+
+    /**
+     * Filter in use
+     */
+    private volatile BloomFilter current;
+
+    /**
+     * Filter being rebuilt
+     */
+    private volatile BloomFilter building;
+
+    /**
+     * Rebuild lock
+     */
+    private final AtomicBoolean rebuilding;
+
+    /**
+     * Count of the definite misses
+     */
+    private final LongAdder definiteMisses;
+
+    /**
+     * Count of the possible hits
+     */
+    private final LongAdder possibleHits;
+
+    /**
+     * Count of the possible hits not confirmed by the real lookup
+     */
+    private final LongAdder falsePositives;
+
+    /**
+     * Private constructor
+     *
+     * @param keySource - key source
+     * @param expectedInsertions - expected count of the keys
+     * @param fpp - desired false positive probability
+     */
+    private ExistenceFilter(Supplier<? extends Publisher<K>> keySource, long expectedInsertions, double fpp) {
+
+        this.keySource = keySource;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.rebuilding = new AtomicBoolean();
+        this.definiteMisses = new LongAdder();
+        this.possibleHits = new LongAdder();
+        this.falsePositives = new LongAdder();
+    }
+
+    /**
+     * Factory method
+     *
+     * @param keySource - key source, subscribed on every rebuild
+     * @param expectedInsertions - expected count of the keys
+     * @param fpp - desired false positive probability, between 0 and 1 exclusive
+     * @return {@link ExistenceFilter} instance
+     *
+     * @param <K> - key type
+     */
+    public static <K> ExistenceFilter<K> of(@NonNull Supplier<? extends Publisher<K>> keySource,
+                                            long expectedInsertions, double fpp) {
+
+        if (expectedInsertions < 1)
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+
+        if (fpp <= 0 || fpp >= 1)
+            throw new IllegalArgumentException("fpp must be between 0 and 1 exclusive");
+
+        return new ExistenceFilter<>(keySource, expectedInsertions, fpp);
+    }
+
+    /**
+     * Rebuilds the filter from the key source. Does nothing, if the rebuild is already in progress.
+     *
+     * @return the reactive descriptor
+     */
+    public Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+
+            if (!rebuilding.compareAndSet(false, true))
+                return Mono.empty();
+
+            BloomFilter filter = new BloomFilter(expectedInsertions, fpp);
+            this.building = filter;
+
+            return Flux.from(keySource.get())
+                    .doOnNext(filter::put)
+                    .then(Mono.fromRunnable(() -> this.current = filter))
+                    .doFinally(signal -> {
+
+                        this.building = null;
+                        rebuilding.set(false);
+                    })
+                    .then();
+        });
+    }
+
+    /**
+     * Rebuilds the filter right away and then periodically
+     *
+     * @param period - rebuild period
+     * @return subscription handle to stop the rebuilds
+     */
+    public Disposable schedule(@NonNull Duration period) {
+        return Flux.interval(Duration.ZERO, period).onBackpressureDrop()
+                .concatMap(tick -> rebuild().onErrorResume(ex -> {
+
+                    log.warn("Existence filter rebuild failed", ex);
+                    return Mono.empty();
+                }), 1)
+                .subscribe();
+    }
+
+    /**
+     * Registers a new key, so it's not rejected until the next rebuild.
+     * Should be called once the key is persisted.
+     *
+     * @param key - the key
+     */
+    public void add(@NonNull K key) {
+
+        BloomFilter filter;
+
+        // the filter being rebuilt is read first: once it's swapped in meanwhile, the put is repeated
+        do {
+
+            BloomFilter building = this.building;
+
+            if (building != null)
+                building.put(key);
+
+            filter = this.current;
+
+            if (filter != null)
+                filter.put(key);
+        } while (filter != this.current);
+    }
+
+    /**
+     * Applies the pre-check: a definite miss completes empty right away,
+     * a possible hit is resolved by the real {@code lookup}
+     *
+     * @param key - the key
+     * @param lookup - the real lookup
+     * @return the lookup result or empty
+     *
+     * @param <R> - context pipeline's type
+     */
+    public <R> Mono<R> check(@NonNull K key, @NonNull Supplier<? extends Mono<R>> lookup) {
+
+        BloomFilter filter = this.current;
+
+        if (filter == null)
+            return Mono.defer(lookup);
+
+        if (!filter.mightContain(key)) {
+
+            definiteMisses.increment();
+            return Mono.empty();
+        }
+
+        possibleHits.increment();
+        return Mono.defer(lookup).switchIfEmpty(Mono.fromRunnable(falsePositives::increment));
+    }
+
+    /**
+     * Estimates the false positive probability of the filter in use
+     *
+     * @return false positive probability, or {@code 1} until the first build completes
+     */
+    public double expectedFalsePositiveRate() {
+
+        BloomFilter filter = this.current;
+        return filter == null ? 1 : filter.expectedFpp();
+    }
+
+    /**
+     * Calculates the observed false positive rate: the share of the absent keys passed to the real lookup
+     *
+     * @return false positive rate
+     */
+    public double observedFalsePositiveRate() {
+
+        long positives = falsePositives.sum();
+        long total = positives + definiteMisses.sum();
+
+        return total == 0 ? 0 : (double) positives / total;
+    }
+
+    /**
+     * Returns the count of the definite misses
+     *
+     * @return misses count
+     */
+    public long definiteMisses() {
+        return definiteMisses.sum();
+    }
+
+    /**
+     * Returns the count of the possible hits
+     *
+     * @return hits count
+     */
+    public long possibleHits() {
+        return possibleHits.sum();
+    }
+
+    /**
+     * Returns the memory footprint of the filters, including the one being rebuilt
+     *
+     * @return size in bytes
+     */
+    public long memoryBytes() {
+
+        BloomFilter current = this.current;
+        BloomFilter building = this.building;
+
+        return (current == null ? 0 : current.memoryBytes()) + (building == null ? 0 : building.memoryBytes());
+    }
+
+    /**
+     * String object's representation
+     *
+     * @return the representation
+     */
+    @Override
+    public String toString() {
+        return "ExistenceFilter{" +
+                "expectedFalsePositiveRate=" + expectedFalsePositiveRate() +
+                ", observedFalsePositiveRate=" + observedFalsePositiveRate() +
+                ", definiteMisses=" + definiteMisses() +
+                ", possibleHits=" + possibleHits() +
+                ", memoryBytes=" + memoryBytes() +
+                '}';
+    }
+}
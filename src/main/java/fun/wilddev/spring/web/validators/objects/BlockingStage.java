@@ -0,0 +1,222 @@
+package fun.wilddev.spring.web.validators.objects;
+
+import java.util.concurrent.*;
+
+import org.springframework.lang.NonNull;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import reactor.core.scheduler.*;
+
+/**
+ * Convenience class to run blocking calls (JDBC, legacy clients, etc.) within validation stages
+ * off the event loop. The calls are dispatched to a virtual-thread-per-task executor once
+ * the runtime supports it, or to a bounded elastic scheduler otherwise.
+ * <p>
+ * Every instance owns its executor, so the instances are meant to be long-lived singletons,
+ * disposed along with their owner. The shared {@link #defaults()} instance must not be disposed.
+ */
+public class BlockingStage implements Disposable {
+
+    /**
+     * Default max count of blocking calls running at once
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 256;
+
+    /**
+     * Threads name prefix
+     */
+    private static final String THREAD_NAME = "blocking-stage";
+
+    /**
+     * Lazy holder of the shared instance
+     */
+    private static final class DefaultHolder {
+
+        /**
+         * The shared instance
+         */
+        private static final BlockingStage INSTANCE = of(DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Target scheduler
+     */
+    private final Scheduler scheduler;
+
+    /**
+     * Concurrency cap of the virtual threads, {@code null} once the scheduler caps it by itself
+     */
+    private final Semaphore permits;
+
+    /**
+     * Private constructor
+     *
+     * @param scheduler - target scheduler
+     * @param permits - concurrency cap
+     */
+    private BlockingStage(Scheduler scheduler, Semaphore permits) {
+
+        this.scheduler = scheduler;
+        this.permits = permits;
+    }
+
+    /**
+     * Instantiates the virtual-thread-per-task executor, available since JDK 21
+     *
+     * @return the executor or {@code null}, if the runtime lacks virtual threads support
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the shared instance capped by {@link #DEFAULT_MAX_CONCURRENCY}
+     *
+     * @return {@link BlockingStage} instance
+     */
+    public static BlockingStage defaults() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Asserts the concurrency cap
+     *
+     * @param maxConcurrency - max count of blocking calls running at once
+     */
+    private static void checkConcurrency(int maxConcurrency) {
+
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+    }
+
+    /**
+     * Factory method, picks the virtual threads once the runtime supports them
+     *
+     * @param maxConcurrency - max count of blocking calls running at once
+     * @return {@link BlockingStage} instance
+     */
+    public static BlockingStage of(int maxConcurrency) {
+
+        checkConcurrency(maxConcurrency);
+
+        ExecutorService executor = newVirtualThreadExecutor();
+
+        return executor != null ? new BlockingStage(Schedulers.fromExecutorService(executor, THREAD_NAME),
+                new Semaphore(maxConcurrency)) : boundedElastic(maxConcurrency);
+    }
+
+    /**
+     * Factory method, runs the calls on virtual threads
+     *
+     * @param maxConcurrency - max count of blocking calls running at once
+     * @return {@link BlockingStage} instance
+     * @throws UnsupportedOperationException - once the runtime lacks virtual threads support
+     */
+    public static BlockingStage virtual(int maxConcurrency) {
+
+        checkConcurrency(maxConcurrency);
+
+        ExecutorService executor = newVirtualThreadExecutor();
+
+        if (executor == null)
+            throw new UnsupportedOperationException("virtual threads are not supported by the runtime");
+
+        return new BlockingStage(Schedulers.fromExecutorService(executor, THREAD_NAME), new Semaphore(maxConcurrency));
+    }
+
+    /**
+     * Factory method, runs the calls on a bounded elastic scheduler
+     *
+     * @param maxConcurrency - max count of blocking calls running at once
+     * @return {@link BlockingStage} instance
+     */
+    public static BlockingStage boundedElastic(int maxConcurrency) {
+
+        checkConcurrency(maxConcurrency);
+
+        return new BlockingStage(Schedulers.newBoundedElastic(maxConcurrency,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, THREAD_NAME, 60, true), null);
+    }
+
+    /**
+     * Checks whether the calls are run on virtual threads
+     *
+     * @return {@code true}, if the virtual threads are used
+     */
+    public boolean isVirtual() {
+        return permits != null;
+    }
+
+    /**
+     * Runs the blocking call under the concurrency cap
+     *
+     * @param callable - blocking call
+     * @return call result
+     * @throws Exception - once the call fails
+     *
+     * @param <R> - result type
+     */
+    private <R> R callCapped(Callable<R> callable) throws Exception {
+
+        permits.acquire();
+
+        try {
+            return callable.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Runs the blocking call off the event loop
+     *
+     * @param callable - blocking call
+     * @return context pipeline's descriptor, empty once the call returns {@code null}
+     *
+     * @param <R> - context pipeline's type
+     */
+    public <R> Mono<R> call(@NonNull Callable<R> callable) {
+
+        Callable<R> target = isVirtual() ? () -> callCapped(callable) : callable;
+        return Mono.fromCallable(target).subscribeOn(scheduler);
+    }
+
+    /**
+     * Runs the blocking action off the event loop
+     *
+     * @param runnable - blocking action
+     * @return context pipeline's descriptor
+     */
+    public Mono<Void> run(@NonNull Runnable runnable) {
+        return call(() -> {
+
+            runnable.run();
+            return null;
+        }).then();
+    }
+
+    /**
+     * Shuts the executor down
+     */
+    @Override
+    public void dispose() {
+        this.scheduler.dispose();
+    }
+
+    /**
+     * Checks whether the executor is shut down
+     *
+     * @return {@code true}, if disposed
+     */
+    @Override
+    public boolean isDisposed() {
+        return this.scheduler.isDisposed();
+    }
+}
@@ -0,0 +1,88 @@
+package fun.wilddev.spring.web.codecs;
+
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import fun.wilddev.spring.web.controllers.responses.errors.FieldErrorResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.*;
+import org.springframework.http.MediaType;
+
+import reactor.core.publisher.*;
+import reactor.test.StepVerifier;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferingCborCodecTest {
+
+    private final ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    private byte[] join(Flux<DataBuffer> buffers) {
+
+        DataBuffer buffer = DataBufferUtils.join(buffers).block();
+        assertNotNull(buffer);
+
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    @Test
+    void matchesCborMediaType() {
+
+        ResolvableType type = ResolvableType.forClass(FieldErrorResponse.class);
+
+        assertTrue(new BufferingCborEncoder(mapper).canEncode(type, MediaType.APPLICATION_CBOR));
+        assertFalse(new BufferingCborEncoder(mapper).canEncode(type, MediaType.APPLICATION_JSON));
+        assertTrue(new BufferingCborDecoder(mapper).canDecode(type, MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void encodesMonoAsSingleValue() throws IOException {
+
+        byte[] bytes = join(new BufferingCborEncoder(mapper).encode(Mono.just(new FieldErrorResponse("storyId", "Story not found")),
+                bufferFactory, ResolvableType.forClass(FieldErrorResponse.class), MediaType.APPLICATION_CBOR, null));
+
+        JsonNode node = mapper.readTree(bytes);
+
+        assertTrue(node.isObject());
+        assertEquals("storyId", node.get("field").asText());
+    }
+
+    @Test
+    void encodesFluxAsArray() throws IOException {
+
+        Flux<FieldErrorResponse> errors = Flux.just(new FieldErrorResponse("storyId", "Story not found"),
+                new FieldErrorResponse("imageId", "Image not found"));
+
+        byte[] bytes = join(new BufferingCborEncoder(mapper).encode(errors, bufferFactory,
+                ResolvableType.forClass(FieldErrorResponse.class), MediaType.APPLICATION_CBOR, null));
+
+        JsonNode node = mapper.readTree(bytes);
+
+        assertTrue(node.isArray());
+        assertEquals(2, node.size());
+        assertEquals("imageId", node.get(1).get("field").asText());
+    }
+
+    @Test
+    void decodesArrayAsFlux() throws IOException {
+
+        byte[] bytes = mapper.writeValueAsBytes(List.of("story-1", "story-2"));
+
+        StepVerifier.create(new BufferingCborDecoder(mapper).decode(Flux.just(bufferFactory.wrap(bytes)),
+                        ResolvableType.forClass(String.class), MediaType.APPLICATION_CBOR, null))
+                .expectNext("story-1", "story-2")
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,197 @@
+package fun.wilddev.spring.web.idempotency;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.*;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.*;
+
+import reactor.core.publisher.*;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool();
+
+    private static final class StoryHandler implements HandlerFunction<ServerResponse> {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final Sinks.Empty<Void> gate = Sinks.empty();
+
+        private StoryHandler(boolean gated) {
+
+            if (!gated)
+                gate.tryEmitEmpty();
+        }
+
+        @Override
+        public Mono<ServerResponse> handle(ServerRequest request) {
+            return request.bodyToMono(String.class).flatMap(body -> {
+
+                int call = calls.incrementAndGet();
+                started.countDown();
+
+                return gate.asMono().then(ServerResponse.created(URI.create("/stories/" + call))
+                        .contentType(MediaType.TEXT_PLAIN).bodyValue("story " + call + ": " + body));
+            });
+        }
+    }
+
+    private static IdempotencyFilter filter(IdempotencyKeyResolver keyResolver, int maxBodySize,
+                                            int maxResponseSize, Duration inFlightTimeout) {
+        return new IdempotencyFilter(new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100, 1 << 20),
+                keyResolver, maxBodySize, maxResponseSize, inFlightTimeout);
+    }
+
+    private static IdempotencyFilter filter(Duration inFlightTimeout) {
+        return filter(new PrincipalIdempotencyKeyResolver(), 1024, 1024, inFlightTimeout);
+    }
+
+    private static WebTestClient client(IdempotencyFilter filter, StoryHandler handler) {
+        return WebTestClient.bindToRouterFunction(RouterFunctions.route(RequestPredicates.POST("/stories"), handler))
+                .webFilter(filter).configureClient().responseTimeout(TIMEOUT).build();
+    }
+
+    private static WebTestClient.ResponseSpec post(WebTestClient client, String key, String body) {
+        return client.post().uri("/stories").header(IdempotencyFilter.HEADER, key)
+                .contentType(MediaType.TEXT_PLAIN).bodyValue(body).exchange();
+    }
+
+    private static CompletableFuture<WebTestClient.ResponseSpec> postAsync(WebTestClient client, String key, String body) {
+        return CompletableFuture.supplyAsync(() -> post(client, key, body), EXECUTOR);
+    }
+
+    @AfterAll
+    static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    void replaysStoredResponse() {
+
+        StoryHandler handler = new StoryHandler(false);
+        WebTestClient client = client(filter(TIMEOUT), handler);
+
+        post(client, "key-1", "hello").expectStatus().isCreated()
+                .expectHeader().doesNotExist(IdempotencyFilter.REPLAYED_HEADER)
+                .expectBody(String.class).isEqualTo("story 1: hello");
+
+        post(client, "key-1", "hello").expectStatus().isCreated()
+                .expectHeader().valueEquals(IdempotencyFilter.REPLAYED_HEADER, "true")
+                .expectHeader().location("/stories/1")
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_PLAIN)
+                .expectBody(String.class).isEqualTo("story 1: hello");
+
+        assertEquals(1, handler.calls.get());
+    }
+
+    @Test
+    void rejectsDifferentPayloadUnderSameKey() {
+
+        StoryHandler handler = new StoryHandler(false);
+        WebTestClient client = client(filter(TIMEOUT), handler);
+
+        post(client, "key-1", "hello").expectStatus().isCreated();
+        post(client, "key-1", "bye").expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+
+        assertEquals(1, handler.calls.get());
+    }
+
+    @Test
+    void coalescesConcurrentDuplicate() throws Exception {
+
+        StoryHandler handler = new StoryHandler(true);
+        WebTestClient client = client(filter(TIMEOUT), handler);
+
+        CompletableFuture<WebTestClient.ResponseSpec> first = postAsync(client, "key-1", "hello");
+        assertTrue(handler.started.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+        CompletableFuture<WebTestClient.ResponseSpec> duplicate = postAsync(client, "key-1", "hello");
+
+        Thread.sleep(200);
+        handler.gate.tryEmitEmpty();
+
+        first.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).expectStatus().isCreated()
+                .expectBody(String.class).isEqualTo("story 1: hello");
+
+        duplicate.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).expectStatus().isCreated()
+                .expectHeader().valueEquals(IdempotencyFilter.REPLAYED_HEADER, "true")
+                .expectBody(String.class).isEqualTo("story 1: hello");
+
+        assertEquals(1, handler.calls.get());
+    }
+
+    @Test
+    void rejectsDuplicateOnceInFlightTimeoutExceeded() throws Exception {
+
+        StoryHandler handler = new StoryHandler(true);
+        WebTestClient client = client(filter(Duration.ofMillis(100)), handler);
+
+        CompletableFuture<WebTestClient.ResponseSpec> first = postAsync(client, "key-1", "hello");
+        assertTrue(handler.started.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+        post(client, "key-1", "hello").expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+        handler.gate.tryEmitEmpty();
+
+        first.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).expectStatus().isCreated()
+                .expectBody(String.class).isEqualTo("story 1: hello");
+
+        assertEquals(1, handler.calls.get());
+    }
+
+    @Test
+    void replaysTombstoneWithoutPayload() {
+
+        StoryHandler handler = new StoryHandler(false);
+        WebTestClient client = client(filter(new PrincipalIdempotencyKeyResolver(), 1024, 4, TIMEOUT), handler);
+
+        post(client, "key-1", "hello").expectStatus().isCreated()
+                .expectBody(String.class).isEqualTo("story 1: hello");
+
+        post(client, "key-1", "hello").expectStatus().isCreated()
+                .expectHeader().valueEquals(IdempotencyFilter.REPLAYED_HEADER, "true")
+                .expectHeader().location("/stories/1")
+                .expectBody().isEmpty();
+
+        assertEquals(1, handler.calls.get());
+    }
+
+    @Test
+    void rejectsPayloadExceedingMaxBodySize() {
+
+        StoryHandler handler = new StoryHandler(false);
+        WebTestClient client = client(filter(new PrincipalIdempotencyKeyResolver(), 4, 1024, TIMEOUT), handler);
+
+        post(client, "key-1", "hello").expectStatus().isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+
+        assertEquals(0, handler.calls.get());
+    }
+
+    @Test
+    void passesUnkeyedRequestThrough() {
+
+        StoryHandler handler = new StoryHandler(false);
+        WebTestClient client = client(filter((exchange, key) -> Mono.empty(), 1024, 1024, TIMEOUT), handler);
+
+        post(client, "key-1", "hello").expectStatus().isCreated()
+                .expectBody(String.class).isEqualTo("story 1: hello");
+
+        post(client, "key-1", "hello").expectStatus().isCreated()
+                .expectHeader().doesNotExist(IdempotencyFilter.REPLAYED_HEADER)
+                .expectBody(String.class).isEqualTo("story 2: hello");
+
+        assertEquals(2, handler.calls.get());
+    }
+}
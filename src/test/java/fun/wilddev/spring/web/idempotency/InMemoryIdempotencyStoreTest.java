@@ -0,0 +1,80 @@
+package fun.wilddev.spring.web.idempotency;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+
+import reactor.test.StepVerifier;
+
+import org.junit.jupiter.api.Test;
+
+class InMemoryIdempotencyStoreTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static StoredResponse response(int size) {
+        return new StoredResponse(201, new HttpHeaders(), new byte[size], "fingerprint");
+    }
+
+    private static void put(InMemoryIdempotencyStore store, String key, StoredResponse response) {
+        StepVerifier.create(store.put(key, response)).expectComplete().verify(TIMEOUT);
+    }
+
+    private static void assertStored(InMemoryIdempotencyStore store, String key, boolean stored) {
+        StepVerifier.create(store.get(key)).expectNextCount(stored ? 1 : 0).expectComplete().verify(TIMEOUT);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedByEntries() {
+
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 2, 1024);
+
+        put(store, "key-1", response(1));
+        put(store, "key-2", response(1));
+
+        assertStored(store, "key-1", true);
+        put(store, "key-3", response(1));
+
+        assertStored(store, "key-1", true);
+        assertStored(store, "key-2", false);
+        assertStored(store, "key-3", true);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedByBytes() {
+
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100, 100);
+
+        put(store, "key-1", response(40));
+        put(store, "key-2", response(40));
+        put(store, "key-2", response(40));
+        put(store, "key-3", response(40));
+
+        assertStored(store, "key-1", false);
+        assertStored(store, "key-2", true);
+        assertStored(store, "key-3", true);
+    }
+
+    @Test
+    void skipsResponseExceedingMaxBytes() {
+
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100, 100);
+
+        put(store, "key-1", response(40));
+        put(store, "key-2", response(101));
+
+        assertStored(store, "key-1", true);
+        assertStored(store, "key-2", false);
+    }
+
+    @Test
+    void expiresResponses() throws InterruptedException {
+
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMillis(1), 100, 100);
+
+        put(store, "key-1", response(1));
+        Thread.sleep(10);
+
+        assertStored(store, "key-1", false);
+    }
+}
@@ -0,0 +1,71 @@
+package fun.wilddev.spring.web.validators.filters;
+
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    private static final int KEYS = 100_000;
+
+    private static final double FPP = 0.01;
+
+    @Test
+    void noFalseNegatives() {
+
+        BloomFilter filter = new BloomFilter(KEYS, FPP);
+
+        for (int i = 0; i < KEYS; i++)
+            filter.put("story-" + i);
+
+        for (int i = 0; i < KEYS; i++)
+            assertTrue(filter.mightContain("story-" + i), "story-" + i);
+
+        assertEquals(KEYS, filter.count());
+    }
+
+    @Test
+    void noFalseNegativesOnConcurrentPuts() throws InterruptedException {
+
+        BloomFilter filter = new BloomFilter(KEYS, FPP);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            IntStream.range(0, KEYS).forEach(i -> executor.execute(() -> filter.put("story-" + i)));
+        } finally {
+
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        for (int i = 0; i < KEYS; i++)
+            assertTrue(filter.mightContain("story-" + i), "story-" + i);
+    }
+
+    @Test
+    void falsePositiveRateIsCloseToFpp() {
+
+        BloomFilter filter = new BloomFilter(KEYS, FPP);
+
+        for (int i = 0; i < KEYS; i++)
+            filter.put("story-" + i);
+
+        long positives = IntStream.range(0, KEYS).filter(i -> filter.mightContain("missing-" + i)).count();
+        double rate = (double) positives / KEYS;
+
+        assertTrue(rate < FPP * 1.5, "observed false positive rate " + rate);
+        assertEquals(FPP, filter.expectedFpp(), FPP * 0.5);
+        assertTrue(filter.memoryBytes() > 0);
+    }
+
+    @Test
+    void rejectsInvalidSizing() {
+
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, FPP));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(KEYS, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(KEYS, 1));
+    }
+}
@@ -0,0 +1,135 @@
+package fun.wilddev.spring.web.validators.filters;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import reactor.core.publisher.*;
+import reactor.test.StepVerifier;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExistenceFilterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static Mono<String> lookup(Set<String> existing, String key) {
+        return existing.contains(key) ? Mono.just(key) : Mono.empty();
+    }
+
+    @Test
+    void fallsThroughUntilBuilt() {
+
+        ExistenceFilter<String> filter = ExistenceFilter.of(Flux::<String>empty, 100, 0.01);
+
+        StepVerifier.create(filter.check("story-1", () -> Mono.just("story-1")))
+                .expectNext("story-1").expectComplete().verify(TIMEOUT);
+
+        assertEquals(0, filter.definiteMisses());
+    }
+
+    @Test
+    void rejectsDefiniteMissesWithoutLookup() {
+
+        Set<String> existing = Set.of("story-1", "story-2");
+        ExistenceFilter<String> filter = ExistenceFilter.of(() -> Flux.fromIterable(existing), 100, 0.01);
+
+        StepVerifier.create(filter.rebuild()).expectComplete().verify(TIMEOUT);
+
+        StepVerifier.create(filter.check("story-1", () -> lookup(existing, "story-1")))
+                .expectNext("story-1").expectComplete().verify(TIMEOUT);
+
+        StepVerifier.create(filter.check("missing", () -> Mono.error(new AssertionError("looked up"))))
+                .expectComplete().verify(TIMEOUT);
+
+        assertEquals(1, filter.definiteMisses());
+        assertEquals(1, filter.possibleHits());
+        assertTrue(filter.memoryBytes() > 0);
+    }
+
+    @Test
+    void observedFalsePositiveRateIsCloseToFpp() {
+
+        Set<String> existing = new HashSet<>();
+
+        for (int i = 0; i < 10_000; i++)
+            existing.add("story-" + i);
+
+        ExistenceFilter<String> filter = ExistenceFilter.of(() -> Flux.fromIterable(existing), 10_000, 0.01);
+        StepVerifier.create(filter.rebuild()).expectComplete().verify(TIMEOUT);
+
+        for (int i = 0; i < 10_000; i++) {
+
+            String key = "missing-" + i;
+            filter.check(key, () -> lookup(existing, key)).block(TIMEOUT);
+        }
+
+        assertTrue(filter.observedFalsePositiveRate() < 0.015, filter.toString());
+        assertTrue(filter.expectedFalsePositiveRate() < 0.015, filter.toString());
+    }
+
+    @Test
+    void keepsKeysAddedDuringRebuild() {
+
+        Sinks.Many<String> source = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicReference<Flux<String>> keys = new AtomicReference<>(Flux.just("story-1"));
+
+        ExistenceFilter<String> filter = ExistenceFilter.of(keys::get, 100, 0.01);
+        StepVerifier.create(filter.rebuild()).expectComplete().verify(TIMEOUT);
+
+        // the rebuild snapshot lacks the key added while it's in progress
+        keys.set(source.asFlux());
+
+        StepVerifier.create(filter.rebuild())
+                .then(() -> {
+
+                    source.tryEmitNext("story-1");
+                    filter.add("story-2");
+                    source.tryEmitComplete();
+                })
+                .expectComplete().verify(TIMEOUT);
+
+        StepVerifier.create(filter.check("story-2", () -> Mono.just("story-2")))
+                .expectNext("story-2").expectComplete().verify(TIMEOUT);
+    }
+
+    @Test
+    void keepsKeysAddedConcurrentlyWithRebuilds() throws InterruptedException {
+
+        List<String> persisted = Collections.synchronizedList(new ArrayList<>());
+        ExistenceFilter<String> filter = ExistenceFilter.of(() -> {
+
+            synchronized (persisted) {
+                return Flux.fromIterable(List.copyOf(persisted));
+            }
+        }, 100_000, 0.01);
+
+        StepVerifier.create(filter.rebuild()).expectComplete().verify(TIMEOUT);
+
+        Thread writer = new Thread(() -> {
+
+            for (int i = 0; i < 20_000; i++) {
+
+                String key = "story-" + i;
+
+                persisted.add(key);
+                filter.add(key);
+            }
+        });
+
+        writer.start();
+
+        while (writer.isAlive())
+            filter.rebuild().block(TIMEOUT);
+
+        writer.join();
+
+        for (int i = 0; i < 20_000; i++) {
+
+            String key = "story-" + i;
+            assertEquals(key, filter.check(key, () -> Mono.just(key)).block(TIMEOUT), key);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package fun.wilddev.spring.web.validators.objects;
+
+import fun.wilddev.spring.web.validators.*;
+
+import java.time.Duration;
+
+import org.springframework.lang.NonNull;
+
+import reactor.blockhound.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BlockingStageTest {
+
+    static String sleep(String value) throws InterruptedException {
+
+        Thread.sleep(10);
+        return value;
+    }
+
+    @BeforeAll
+    static void installBlockHound() {
+        BlockHound.install();
+    }
+
+    private static void verifyPasses(Mono<?> stage) {
+        StepVerifier.create(stage.subscribeOn(Schedulers.parallel()))
+                .expectNextCount(1).expectComplete().verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void inlineBlockingStageFails() {
+
+        ReactiveValidator validator = new AbstractReactiveValidator() {
+
+            @Override
+            public Mono<Void> validate(@NonNull Object target) {
+                return validate(target, String.class, value -> Mono.fromCallable(() -> sleep(value)));
+            }
+        };
+
+        StepVerifier.create(validator.validate("target").subscribeOn(Schedulers.parallel()))
+                .expectError(BlockingOperationError.class).verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void blockingStagePasses() {
+
+        ReactiveValidator validator = new AbstractReactiveValidator() {
+
+            @Override
+            public Mono<Void> validate(@NonNull Object target) {
+                return validate(target, String.class, value -> blocking(() -> sleep(value)));
+            }
+        };
+
+        StepVerifier.create(validator.validate("target").subscribeOn(Schedulers.parallel()))
+                .expectComplete().verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void virtualThreadsPathPasses() {
+
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads require JDK 21+");
+
+        BlockingStage stage = BlockingStage.virtual(4);
+
+        try {
+            Assertions.assertTrue(stage.isVirtual());
+            verifyPasses(stage.call(() -> sleep("value")));
+        } finally {
+            stage.dispose();
+        }
+    }
+
+    @Test
+    void boundedElasticPathPasses() {
+
+        BlockingStage stage = BlockingStage.boundedElastic(4);
+
+        try {
+            Assertions.assertFalse(stage.isVirtual());
+            verifyPasses(stage.call(() -> sleep("value")));
+        } finally {
+            stage.dispose();
+        }
+
+        Assertions.assertTrue(stage.isDisposed());
+    }
+}